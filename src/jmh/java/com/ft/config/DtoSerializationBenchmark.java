@@ -0,0 +1,142 @@
+package com.ft.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ft.security.AuthoritiesConstants;
+import com.ft.service.dto.AdminUserDTO;
+import com.ft.service.dto.UserDTO;
+import com.ft.web.rest.BlogKafkaResource.PublishResult;
+import com.ft.web.websocket.dto.ActivityDTO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.zalando.problem.ProblemModule;
+
+/**
+ * Serialization of the most requested DTOs, with the reflective serializers of Jackson and with the ones generated
+ * by the Afterburner module of {@link JacksonConfiguration}.
+ * <p>
+ * Run with {@code ./gradlew jmh}: the gc profiler reports the bytes allocated per serialization as
+ * {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoSerializationBenchmark {
+
+    @Param({ "reflection", "afterburner" })
+    public String serializers;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(16384);
+
+    private ObjectWriter adminUserWriter;
+
+    private ObjectWriter usersWriter;
+
+    private ObjectWriter activityWriter;
+
+    private ObjectWriter publishResultWriter;
+
+    private AdminUserDTO adminUser;
+
+    private List<UserDTO> users;
+
+    private ActivityDTO activity;
+
+    private PublishResult publishResult;
+
+    @Setup
+    public void setup() {
+        // The modules of JacksonConfiguration, with the settings Spring Boot applies
+        ObjectMapper mapper = new ObjectMapper()
+            .registerModules(new JavaTimeModule(), new Jdk8Module(), new Hibernate5Module(), new ProblemModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("afterburner".equals(serializers)) {
+            mapper.registerModule(new JacksonConfiguration().afterburnerModule());
+        }
+        adminUserWriter = mapper.writerFor(AdminUserDTO.class);
+        usersWriter = mapper.writerFor(new TypeReference<List<UserDTO>>() {});
+        activityWriter = mapper.writerFor(ActivityDTO.class);
+        publishResultWriter = mapper.writerFor(PublishResult.class);
+
+        adminUser = new AdminUserDTO();
+        adminUser.setId(1L);
+        adminUser.setLogin("admin");
+        adminUser.setFirstName("Administrator");
+        adminUser.setLastName("Administrator");
+        adminUser.setEmail("admin@localhost");
+        adminUser.setImageUrl("");
+        adminUser.setActivated(true);
+        adminUser.setLangKey("en");
+        adminUser.setCreatedBy("system");
+        adminUser.setCreatedDate(Instant.parse("2021-06-01T10:00:00Z"));
+        adminUser.setLastModifiedBy("system");
+        adminUser.setLastModifiedDate(Instant.parse("2021-06-02T10:00:00Z"));
+        adminUser.setAuthorities(Set.of(AuthoritiesConstants.ADMIN, AuthoritiesConstants.USER));
+
+        // A page of public users, with the default page size
+        users = LongStream.rangeClosed(1, 20).mapToObj(id -> new UserDTO(id, "user-" + id)).collect(Collectors.toList());
+
+        activity = new ActivityDTO();
+        activity.setSessionId("3f2a6c1e");
+        activity.setUserLogin("admin");
+        activity.setIpAddress("192.168.1.10");
+        activity.setPage("/admin/user-management");
+        activity.setTime(Instant.parse("2021-06-02T10:00:00Z"));
+
+        publishResult = new PublishResult("blog", 2, 42L, Instant.parse("2021-06-02T10:00:00Z"));
+    }
+
+    @Benchmark
+    public int adminUser() throws IOException {
+        return write(adminUserWriter, adminUser);
+    }
+
+    @Benchmark
+    public int publicUsersPage() throws IOException {
+        return write(usersWriter, users);
+    }
+
+    @Benchmark
+    public int activity() throws IOException {
+        return write(activityWriter, activity);
+    }
+
+    @Benchmark
+    public int publishResult() throws IOException {
+        return write(publishResultWriter, publishResult);
+    }
+
+    /**
+     * Serialize to a reused buffer, so that only the allocations of Jackson are measured.
+     */
+    private int write(ObjectWriter writer, Object value) throws IOException {
+        out.reset();
+        writer.writeValue(out, value);
+        return out.size();
+    }
+}
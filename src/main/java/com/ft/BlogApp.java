@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.DefaultProfileUtil;
@@ -24,6 +25,11 @@ public class BlogApp {
 
     private static final Logger log = LoggerFactory.getLogger(BlogApp.class);
 
+    /**
+     * Startup steps kept for the {@code startup} management endpoint, enough for the instantiation of every bean.
+     */
+    private static final int STARTUP_STEPS_CAPACITY = 10000;
+
     private final Environment env;
 
     public BlogApp(Environment env) {
@@ -66,6 +72,7 @@ public class BlogApp {
     public static void main(String[] args) {
         SpringApplication app = new SpringApplication(BlogApp.class);
         DefaultProfileUtil.addDefaultProfile(app);
+        app.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
         Environment env = app.run(args).getEnvironment();
         logApplicationStartup(env);
     }
@@ -0,0 +1,121 @@
+package com.ft.aop.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aspect for timing a sample of the executions of service and repository Spring components.
+ * <p>
+ * Unlike the {@link com.ft.aop.logging.LoggingAspect}, it is cheap enough to run in production: calls which are not
+ * sampled go straight to the method, and sampled ones are recorded in the {@code method.timed} timer, tagged with
+ * the class, the method and the exception thrown. Arguments are only logged when explicitly enabled. The distribution
+ * statistics of the timers are set by the {@link SampledTimingMeterFilter}.
+ */
+@Aspect
+public class SampledTimingAspect {
+
+    static final String METER_NAME = "method.timed";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+
+    private final SampledTimingMeterFilter meterFilter;
+
+    private final double sampleRate;
+
+    private final boolean logArguments;
+
+    private final Map<Method, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+
+    public SampledTimingAspect(MeterRegistry meterRegistry, SampledTimingMeterFilter meterFilter, double sampleRate, boolean logArguments) {
+        this.meterRegistry = meterRegistry;
+        this.meterFilter = meterFilter;
+        this.sampleRate = sampleRate;
+        this.logArguments = logArguments;
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut(
+        "within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)"
+    )
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut("within(com.ft.repository..*)" + " || within(com.ft.service..*)" + " || within(com.ft.web.rest..*)")
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a sample of the method executions.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable throws the exception of the method.
+     */
+    @Around("applicationPackagePointcut() && springBeanPointcut()")
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return joinPoint.proceed();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            record(joinPoint, method, NO_EXCEPTION, System.nanoTime() - start);
+            return result;
+        } catch (Throwable e) {
+            record(joinPoint, method, e.getClass().getSimpleName(), System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, Method method, String exception, long nanos) {
+        Timer timer = timers.computeIfAbsent(method, m -> new ConcurrentHashMap<>()).computeIfAbsent(exception, e -> timer(method, e));
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (logArguments) {
+            Logger log = LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+            if (log.isDebugEnabled()) {
+                log.debug(
+                    "Sampled: {}() with argument[s] = {} took {}ms",
+                    method.getName(),
+                    Arrays.toString(joinPoint.getArgs()),
+                    TimeUnit.NANOSECONDS.toMillis(nanos)
+                );
+            }
+        }
+    }
+
+    private Timer timer(Method method, String exception) {
+        meterFilter.timing(method);
+        return Timer
+            .builder(METER_NAME)
+            .description("Sampled executions of repository, service and REST methods")
+            .tag("class", method.getDeclaringClass().getSimpleName())
+            .tag("method", method.getName())
+            .tag("exception", exception)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ft.aop.timing;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Distribution statistics of the timers of the {@link SampledTimingAspect}.
+ * <p>
+ * The {@code management.metrics.distribution} properties publish percentile histograms and client-side percentiles
+ * for all the timers, which is far too many series for one timer per method and exception. This filter must be applied
+ * after Spring Boot's {@code PropertiesMeterFilter}: no percentiles are computed, and percentile histograms are only
+ * published for the REST methods, when enabled.
+ */
+public class SampledTimingMeterFilter implements MeterFilter {
+
+    private final boolean percentileHistogram;
+
+    private final Set<String> histogramClasses = ConcurrentHashMap.newKeySet();
+
+    public SampledTimingMeterFilter(boolean percentileHistogram) {
+        this.percentileHistogram = percentileHistogram;
+    }
+
+    /**
+     * Called before the timers of the method are registered, so that their distribution statistics are known.
+     *
+     * @param method the timed method.
+     */
+    void timing(Method method) {
+        if (percentileHistogram && AnnotatedElementUtils.hasAnnotation(method.getDeclaringClass(), RestController.class)) {
+            histogramClasses.add(method.getDeclaringClass().getSimpleName());
+        }
+    }
+
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (!SampledTimingAspect.METER_NAME.equals(id.getName())) {
+            return config;
+        }
+        return DistributionStatisticConfig
+            .builder()
+            .percentilesHistogram(histogramClasses.contains(id.getTag("class")))
+            .percentiles()
+            .build()
+            .merge(config);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ft.aop.tracing;
+
+import com.ft.config.tracing.Span;
+import com.ft.config.tracing.Tracer;
+import com.ft.repository.UserRepository;
+import com.ft.repository.search.UserSearchRepository;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Aspect for tracing the components which usually make up the latency of a request: the token provider, the user
+ * repositories, the mail service and the Web REST endpoints.
+ */
+@Aspect
+public class TracingAspect {
+
+    private final Tracer tracer;
+
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    /**
+     * Pointcut that matches the traced components.
+     */
+    @Pointcut(
+        "this(com.ft.repository.UserRepository)" +
+        " || this(com.ft.repository.search.UserSearchRepository)" +
+        " || within(com.ft.security.jwt.TokenProvider)" +
+        " || within(com.ft.service.MailService)" +
+        " || within(@org.springframework.web.bind.annotation.RestController com.ft.web.rest..*)"
+    )
+    public void tracedComponentPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that starts a span named after the declaring type and the method, such as
+     * {@code UserRepository.findOneByLogin}.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable throws the exception of the method.
+     */
+    @Around("tracedComponentPointcut()")
+    public Object traceAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (Span span = tracer.startSpan(typeName(joinPoint) + "." + joinPoint.getSignature().getName())) {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                span.error(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Repository methods are often declared by Spring Data interfaces, so they are named after the repository instead.
+     */
+    private static String typeName(ProceedingJoinPoint joinPoint) {
+        if (joinPoint.getThis() instanceof UserRepository) {
+            return "UserRepository";
+        }
+        if (joinPoint.getThis() instanceof UserSearchRepository) {
+            return "UserSearchRepository";
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -1,6 +1,10 @@
 package com.ft.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Blog.
@@ -9,4 +13,821 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Search search = new Search();
+
+    private final Export export = new Export();
+
+    private final BulkImport bulkImport = new BulkImport();
+
+    private final UserPurge userPurge = new UserPurge();
+
+    private final Scheduler scheduler = new Scheduler();
+
+    private final QueryPlanCheck queryPlanCheck = new QueryPlanCheck();
+
+    private final Datasource datasource = new Datasource();
+
+    private final StatementStatistics statementStatistics = new StatementStatistics();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final AsyncLogging asyncLogging = new AsyncLogging();
+
+    private final Tracing tracing = new Tracing();
+
+    private final Undertow undertow = new Undertow();
+
+    private final Compression compression = new Compression();
+
+    private final Liquibase liquibase = new Liquibase();
+
+    private final Startup startup = new Startup();
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public BulkImport getBulkImport() {
+        return bulkImport;
+    }
+
+    public UserPurge getUserPurge() {
+        return userPurge;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public QueryPlanCheck getQueryPlanCheck() {
+        return queryPlanCheck;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public StatementStatistics getStatementStatistics() {
+        return statementStatistics;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public AsyncLogging getAsyncLogging() {
+        return asyncLogging;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public Undertow getUndertow() {
+        return undertow;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public Liquibase getLiquibase() {
+        return liquibase;
+    }
+
+    public Startup getStartup() {
+        return startup;
+    }
+
+    public static class Search {
+
+        private Duration timeout = Duration.ofSeconds(2);
+
+        private int terminateAfter = 10000;
+
+        private int maxResults = 50;
+
+        private int maxQueryLength = 256;
+
+        private int maxClauses = 16;
+
+        private int maxCost = 64;
+
+        private int minPrefixLength = 2;
+
+        private boolean queryStringEnabled = false;
+
+        private String[] fields = { "login", "firstName", "lastName" };
+
+        private final Cache cache = new Cache();
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getTerminateAfter() {
+            return terminateAfter;
+        }
+
+        public void setTerminateAfter(int terminateAfter) {
+            this.terminateAfter = terminateAfter;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+
+        public int getMaxQueryLength() {
+            return maxQueryLength;
+        }
+
+        public void setMaxQueryLength(int maxQueryLength) {
+            this.maxQueryLength = maxQueryLength;
+        }
+
+        public int getMaxClauses() {
+            return maxClauses;
+        }
+
+        public void setMaxClauses(int maxClauses) {
+            this.maxClauses = maxClauses;
+        }
+
+        public int getMaxCost() {
+            return maxCost;
+        }
+
+        public void setMaxCost(int maxCost) {
+            this.maxCost = maxCost;
+        }
+
+        public int getMinPrefixLength() {
+            return minPrefixLength;
+        }
+
+        public void setMinPrefixLength(int minPrefixLength) {
+            this.minPrefixLength = minPrefixLength;
+        }
+
+        public boolean isQueryStringEnabled() {
+            return queryStringEnabled;
+        }
+
+        public void setQueryStringEnabled(boolean queryStringEnabled) {
+            this.queryStringEnabled = queryStringEnabled;
+        }
+
+        public String[] getFields() {
+            return fields;
+        }
+
+        public void setFields(String[] fields) {
+            this.fields = fields;
+        }
+
+        public Cache getCache() {
+            return cache;
+        }
+
+        public static class Cache {
+
+            private boolean enabled = true;
+
+            private int maxEntries = 1000;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    public static class Export {
+
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class BulkImport {
+
+        private int chunkSize = 1000;
+
+        private int hashingParallelism = Runtime.getRuntime().availableProcessors();
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getHashingParallelism() {
+            return hashingParallelism;
+        }
+
+        public void setHashingParallelism(int hashingParallelism) {
+            this.hashingParallelism = hashingParallelism;
+        }
+    }
+
+    public static class UserPurge {
+
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Scheduler {
+
+        private boolean enabled = true;
+
+        private Duration missedRunGracePeriod = Duration.ofMinutes(5);
+
+        private Duration missedRunCheckInterval = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getMissedRunGracePeriod() {
+            return missedRunGracePeriod;
+        }
+
+        public void setMissedRunGracePeriod(Duration missedRunGracePeriod) {
+            this.missedRunGracePeriod = missedRunGracePeriod;
+        }
+
+        public Duration getMissedRunCheckInterval() {
+            return missedRunCheckInterval;
+        }
+
+        public void setMissedRunCheckInterval(Duration missedRunCheckInterval) {
+            this.missedRunCheckInterval = missedRunCheckInterval;
+        }
+    }
+
+    public static class QueryPlanCheck {
+
+        private boolean enabled = true;
+
+        private long minRows = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMinRows() {
+            return minRows;
+        }
+
+        public void setMinRows(long minRows) {
+            this.minRows = minRows;
+        }
+    }
+
+    public static class Datasource {
+
+        private List<Replica> replicas = new ArrayList<>();
+
+        private Duration replicaMaxLag = Duration.ofSeconds(5);
+
+        private Duration replicaLagCheckInterval = Duration.ofSeconds(5);
+
+        private final PoolController poolController = new PoolController();
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public Duration getReplicaMaxLag() {
+            return replicaMaxLag;
+        }
+
+        public void setReplicaMaxLag(Duration replicaMaxLag) {
+            this.replicaMaxLag = replicaMaxLag;
+        }
+
+        public Duration getReplicaLagCheckInterval() {
+            return replicaLagCheckInterval;
+        }
+
+        public void setReplicaLagCheckInterval(Duration replicaLagCheckInterval) {
+            this.replicaLagCheckInterval = replicaLagCheckInterval;
+        }
+
+        public PoolController getPoolController() {
+            return poolController;
+        }
+
+        public static class PoolController {
+
+            private boolean enabled = false;
+
+            private int minSize = 10;
+
+            private int maxSize = 40;
+
+            private int step = 2;
+
+            private Duration targetAcquireTime = Duration.ofMillis(10);
+
+            private Duration interval = Duration.ofSeconds(30);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMinSize() {
+                return minSize;
+            }
+
+            public void setMinSize(int minSize) {
+                this.minSize = minSize;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getStep() {
+                return step;
+            }
+
+            public void setStep(int step) {
+                this.step = step;
+            }
+
+            public Duration getTargetAcquireTime() {
+                return targetAcquireTime;
+            }
+
+            public void setTargetAcquireTime(Duration targetAcquireTime) {
+                this.targetAcquireTime = targetAcquireTime;
+            }
+
+            public Duration getInterval() {
+                return interval;
+            }
+
+            public void setInterval(Duration interval) {
+                this.interval = interval;
+            }
+        }
+
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+    }
+
+    public static class StatementStatistics {
+
+        private boolean enabled = true;
+
+        private boolean responseHeaders = false;
+
+        private Duration slowStatementThreshold = Duration.ofMillis(500);
+
+        private int maxStatements = 30;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isResponseHeaders() {
+            return responseHeaders;
+        }
+
+        public void setResponseHeaders(boolean responseHeaders) {
+            this.responseHeaders = responseHeaders;
+        }
+
+        public Duration getSlowStatementThreshold() {
+            return slowStatementThreshold;
+        }
+
+        public void setSlowStatementThreshold(Duration slowStatementThreshold) {
+            this.slowStatementThreshold = slowStatementThreshold;
+        }
+
+        public int getMaxStatements() {
+            return maxStatements;
+        }
+
+        public void setMaxStatements(int maxStatements) {
+            this.maxStatements = maxStatements;
+        }
+    }
+
+    public static class MethodTiming {
+
+        private boolean enabled = false;
+
+        private double sampleRate = 0.01;
+
+        private boolean logArguments = false;
+
+        private boolean percentileHistogram = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public boolean isLogArguments() {
+            return logArguments;
+        }
+
+        public void setLogArguments(boolean logArguments) {
+            this.logArguments = logArguments;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+    }
+
+    public static class AsyncLogging {
+
+        private boolean enabled = false;
+
+        private int ringBufferSize = 8192;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getRingBufferSize() {
+            return ringBufferSize;
+        }
+
+        public void setRingBufferSize(int ringBufferSize) {
+            this.ringBufferSize = ringBufferSize;
+        }
+    }
+
+    public static class Tracing {
+
+        private boolean enabled = false;
+
+        private double sampleRate = 0.01;
+
+        private String exporter = "log";
+
+        private String collectorUrl = "http://localhost:9411/api/v2/spans";
+
+        private int queueSize = 2048;
+
+        private Duration exportInterval = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public String getExporter() {
+            return exporter;
+        }
+
+        public void setExporter(String exporter) {
+            this.exporter = exporter;
+        }
+
+        public String getCollectorUrl() {
+            return collectorUrl;
+        }
+
+        public void setCollectorUrl(String collectorUrl) {
+            this.collectorUrl = collectorUrl;
+        }
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public Duration getExportInterval() {
+            return exportInterval;
+        }
+
+        public void setExportInterval(Duration exportInterval) {
+            this.exportInterval = exportInterval;
+        }
+    }
+
+    public static class Undertow {
+
+        private Integer ioThreads;
+
+        private Integer workerThreads;
+
+        private DataSize bufferSize;
+
+        private Boolean directBuffers;
+
+        private Integer maxConnections;
+
+        private Duration noRequestTimeout;
+
+        private Duration requestParseTimeout;
+
+        private Integer maxHeaders;
+
+        private Integer maxParameters;
+
+        private Integer maxCookies;
+
+        private Integer http2MaxConcurrentStreams;
+
+        public Integer getIoThreads() {
+            return ioThreads;
+        }
+
+        public void setIoThreads(Integer ioThreads) {
+            this.ioThreads = ioThreads;
+        }
+
+        public Integer getWorkerThreads() {
+            return workerThreads;
+        }
+
+        public void setWorkerThreads(Integer workerThreads) {
+            this.workerThreads = workerThreads;
+        }
+
+        public DataSize getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(DataSize bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public Boolean getDirectBuffers() {
+            return directBuffers;
+        }
+
+        public void setDirectBuffers(Boolean directBuffers) {
+            this.directBuffers = directBuffers;
+        }
+
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        public Duration getNoRequestTimeout() {
+            return noRequestTimeout;
+        }
+
+        public void setNoRequestTimeout(Duration noRequestTimeout) {
+            this.noRequestTimeout = noRequestTimeout;
+        }
+
+        public Duration getRequestParseTimeout() {
+            return requestParseTimeout;
+        }
+
+        public void setRequestParseTimeout(Duration requestParseTimeout) {
+            this.requestParseTimeout = requestParseTimeout;
+        }
+
+        public Integer getMaxHeaders() {
+            return maxHeaders;
+        }
+
+        public void setMaxHeaders(Integer maxHeaders) {
+            this.maxHeaders = maxHeaders;
+        }
+
+        public Integer getMaxParameters() {
+            return maxParameters;
+        }
+
+        public void setMaxParameters(Integer maxParameters) {
+            this.maxParameters = maxParameters;
+        }
+
+        public Integer getMaxCookies() {
+            return maxCookies;
+        }
+
+        public void setMaxCookies(Integer maxCookies) {
+            this.maxCookies = maxCookies;
+        }
+
+        public Integer getHttp2MaxConcurrentStreams() {
+            return http2MaxConcurrentStreams;
+        }
+
+        public void setHttp2MaxConcurrentStreams(Integer http2MaxConcurrentStreams) {
+            this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+        }
+    }
+
+    public static class Compression {
+
+        private boolean enabled = false;
+
+        private List<String> mimeTypes = new ArrayList<>(List.of("application/json", "application/problem+json", "text/event-stream"));
+
+        private DataSize minResponseSize = DataSize.ofKilobytes(1);
+
+        private int level = 6;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getMimeTypes() {
+            return mimeTypes;
+        }
+
+        public void setMimeTypes(List<String> mimeTypes) {
+            this.mimeTypes = mimeTypes;
+        }
+
+        public DataSize getMinResponseSize() {
+            return minResponseSize;
+        }
+
+        public void setMinResponseSize(DataSize minResponseSize) {
+            this.minResponseSize = minResponseSize;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+    }
+
+    public static class Liquibase {
+
+        private boolean skipUnchanged = false;
+
+        public boolean isSkipUnchanged() {
+            return skipUnchanged;
+        }
+
+        public void setSkipUnchanged(boolean skipUnchanged) {
+            this.skipUnchanged = skipUnchanged;
+        }
+    }
+
+    public static class Startup {
+
+        private boolean lazyInit = false;
+
+        private List<String> lazyBeans = new ArrayList<>(List.of("blogKafkaResource", "userSearchRepository"));
+
+        public boolean isLazyInit() {
+            return lazyInit;
+        }
+
+        public void setLazyInit(boolean lazyInit) {
+            this.lazyInit = lazyInit;
+        }
+
+        public List<String> getLazyBeans() {
+            return lazyBeans;
+        }
+
+        public void setLazyBeans(List<String> lazyBeans) {
+            this.lazyBeans = lazyBeans;
+        }
+    }
+}
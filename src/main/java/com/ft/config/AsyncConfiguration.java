@@ -1,5 +1,6 @@
 package com.ft.config;
 
+import com.ft.config.tracing.Tracer;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,8 +24,11 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Tracer tracer;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Tracer tracer) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.tracer = tracer;
     }
 
     @Override
@@ -36,6 +40,8 @@ public class AsyncConfiguration implements AsyncConfigurer {
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
         executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
         executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
+        // Asynchronous tasks, such as sending emails, are traced as part of the request which submitted them
+        executor.setTaskDecorator(tracer::wrap);
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
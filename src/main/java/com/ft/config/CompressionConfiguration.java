@@ -0,0 +1,34 @@
+package com.ft.config;
+
+import com.ft.config.compression.CompressionFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Compression of the REST API responses, see {@link CompressionFilter}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.compression", name = "enabled", havingValue = "true")
+public class CompressionConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<CompressionFilter> compressionFilter(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Compression properties = applicationProperties.getCompression();
+        FilterRegistrationBean<CompressionFilter> registration = new FilterRegistrationBean<>(
+            new CompressionFilter(
+                properties.getMimeTypes(),
+                (int) properties.getMinResponseSize().toBytes(),
+                properties.getLevel(),
+                meterRegistry
+            )
+        );
+        registration.addUrlPatterns("/api/*", "/management/*");
+        // Before the security filters, so that their error responses are compressed too
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
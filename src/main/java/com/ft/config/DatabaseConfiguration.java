@@ -1,12 +1,28 @@
 package com.ft.config;
 
+import com.ft.config.jdbc.HikariLeakDetectionMetrics;
+import com.ft.config.jdbc.HikariPoolSizeController;
+import com.ft.config.jdbc.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.elasticsearch.repository.config.EnableElasticsearchRepositories;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import tech.jhipster.config.JHipsterConstants;
 
@@ -15,4 +31,84 @@ import tech.jhipster.config.JHipsterConstants;
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
 @EnableElasticsearchRepositories("com.ft.repository.search")
-public class DatabaseConfiguration {}
+public class DatabaseConfiguration {
+
+    @Bean
+    public HikariLeakDetectionMetrics hikariLeakDetectionMetrics(MeterRegistry meterRegistry) {
+        return new HikariLeakDetectionMetrics(meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.datasource.pool-controller", name = "enabled", havingValue = "true")
+    public HikariPoolSizeController hikariPoolSizeController(
+        ObjectProvider<HikariDataSource> dataSources,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.Datasource.PoolController properties = applicationProperties.getDatasource().getPoolController();
+        return new HikariPoolSizeController(
+            dataSources.orderedStream().collect(Collectors.toList()),
+            meterRegistry,
+            properties.getMinSize(),
+            properties.getMaxSize(),
+            properties.getStep(),
+            properties.getTargetAcquireTime(),
+            properties.getInterval()
+        );
+    }
+
+    /**
+     * Replica routing, only when at least one replica is configured: read-only transactions go to the replicas, and
+     * all the other ones to the primary, which is configured as usual by {@code spring.datasource}.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "application.datasource", name = "replicas[0].url")
+    public static class ReplicaRoutingConfiguration {
+
+        private final Logger log = LoggerFactory.getLogger(ReplicaRoutingConfiguration.class);
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+            return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        }
+
+        @Bean
+        public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ApplicationProperties applicationProperties,
+            MeterRegistry meterRegistry
+        ) {
+            ApplicationProperties.Datasource properties = applicationProperties.getDatasource();
+            List<HikariDataSource> replicas = new ArrayList<>();
+            for (ApplicationProperties.Datasource.Replica replica : properties.getReplicas()) {
+                // Replicas get their own pools, with the same settings as the primary one
+                HikariConfig config = new HikariConfig();
+                primaryDataSource.copyStateTo(config);
+                config.setPoolName(primaryDataSource.getPoolName() + "-replica-" + replicas.size());
+                config.setJdbcUrl(replica.getUrl());
+                config.setUsername(replica.getUsername());
+                config.setPassword(replica.getPassword());
+                config.setReadOnly(true);
+                if (config.getMetricsTrackerFactory() == null && config.getMetricRegistry() == null) {
+                    config.setMetricRegistry(meterRegistry);
+                }
+                replicas.add(new HikariDataSource(config));
+            }
+            log.debug("Routing read-only transactions to {} replicas", replicas.size());
+            return new ReplicaRoutingDataSource(
+                primaryDataSource,
+                replicas,
+                properties.getReplicaMaxLag(),
+                properties.getReplicaLagCheckInterval(),
+                meterRegistry
+            );
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+        }
+    }
+}
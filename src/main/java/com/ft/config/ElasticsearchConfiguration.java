@@ -1,10 +1,12 @@
 package com.ft.config;
 
+import com.ft.service.search.SearchIndexVersion;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import org.redisson.api.RedissonClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -31,6 +33,14 @@ public class ElasticsearchConfiguration extends ElasticsearchConfigurationSuppor
         );
     }
 
+    /**
+     * Version of the user index, incremented by {@link com.ft.service.UserService} on each write.
+     */
+    @Bean
+    public SearchIndexVersion userSearchIndexVersion(RedissonClient redissonClient) {
+        return new SearchIndexVersion(redissonClient, "user");
+    }
+
     @WritingConverter
     static class ZonedDateTimeWritingConverter implements Converter<ZonedDateTime, String> {
 
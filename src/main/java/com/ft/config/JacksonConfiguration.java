@@ -1,10 +1,16 @@
 package com.ft.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.fasterxml.jackson.datatype.hibernate5.Hibernate5Module;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.zalando.problem.ProblemModule;
 import org.zalando.problem.violations.ConstraintViolationProblemModule;
 
@@ -33,6 +39,16 @@ public class JacksonConfiguration {
         return new Hibernate5Module();
     }
 
+    /*
+     * Generated accessors and constructors instead of reflection, for the serialization/deserialization of the DTOs.
+     * The generated classes are defined in a class loader of their own, so only public classes and members get them,
+     * the others keep the reflective ones.
+     */
+    @Bean
+    public AfterburnerModule afterburnerModule() {
+        return new AfterburnerModule().setUseValueClassLoader(false);
+    }
+
     /*
      * Module for serialization/deserialization of RFC7807 Problem.
      */
@@ -48,4 +64,19 @@ public class JacksonConfiguration {
     public ConstraintViolationProblemModule constraintViolationProblemModule() {
         return new ConstraintViolationProblemModule();
     }
+
+    /*
+     * Binary representations of the same DTOs, for the clients accepting application/cbor or
+     * application/x-jackson-smile. Their mappers are built like the JSON one, with the modules above and the
+     * spring.jackson settings. Spring Boot keeps them after the JSON converter, so JSON stays the default.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
 }
@@ -1,5 +1,6 @@
 package com.ft.config;
 
+import com.ft.config.liquibase.FingerprintSpringLiquibase;
 import java.util.concurrent.Executor;
 import javax.sql.DataSource;
 import liquibase.integration.spring.SpringLiquibase;
@@ -15,6 +16,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 import tech.jhipster.config.JHipsterConstants;
+import tech.jhipster.config.liquibase.DataSourceClosingSpringLiquibase;
 import tech.jhipster.config.liquibase.SpringLiquibaseUtil;
 
 @Configuration
@@ -24,8 +26,11 @@ public class LiquibaseConfiguration {
 
     private final Environment env;
 
-    public LiquibaseConfiguration(Environment env) {
+    private final ApplicationProperties applicationProperties;
+
+    public LiquibaseConfiguration(Environment env, ApplicationProperties applicationProperties) {
         this.env = env;
+        this.applicationProperties = applicationProperties;
     }
 
     @Bean
@@ -36,16 +41,28 @@ public class LiquibaseConfiguration {
         ObjectProvider<DataSource> dataSource,
         DataSourceProperties dataSourceProperties
     ) {
-        // If you don't want Liquibase to start asynchronously, substitute by this:
-        // SpringLiquibase liquibase = SpringLiquibaseUtil.createSpringLiquibase(liquibaseDataSource.getIfAvailable(), liquibaseProperties, dataSource.getIfUnique(), dataSourceProperties);
-        SpringLiquibase liquibase = SpringLiquibaseUtil.createAsyncSpringLiquibase(
-            this.env,
-            executor,
-            liquibaseDataSource.getIfAvailable(),
-            liquibaseProperties,
-            dataSource.getIfUnique(),
-            dataSourceProperties
-        );
+        SpringLiquibase liquibase;
+        if (applicationProperties.getLiquibase().isSkipUnchanged()) {
+            liquibase =
+                createFingerprintSpringLiquibase(
+                    SpringLiquibaseUtil.createSpringLiquibase(
+                        liquibaseDataSource.getIfAvailable(),
+                        liquibaseProperties,
+                        dataSource.getIfUnique(),
+                        dataSourceProperties
+                    )
+                );
+        } else {
+            liquibase =
+                SpringLiquibaseUtil.createAsyncSpringLiquibase(
+                    this.env,
+                    executor,
+                    liquibaseDataSource.getIfAvailable(),
+                    liquibaseProperties,
+                    dataSource.getIfUnique(),
+                    dataSourceProperties
+                );
+        }
         liquibase.setChangeLog("classpath:config/liquibase/master.xml");
         liquibase.setContexts(liquibaseProperties.getContexts());
         liquibase.setDefaultSchema(liquibaseProperties.getDefaultSchema());
@@ -66,4 +83,15 @@ public class LiquibaseConfiguration {
         }
         return liquibase;
     }
+
+    private SpringLiquibase createFingerprintSpringLiquibase(SpringLiquibase springLiquibase) {
+        if (springLiquibase instanceof DataSourceClosingSpringLiquibase) {
+            // Its dedicated data source must be closed after the update
+            log.debug("Liquibase uses its own data source, it runs even if the changelogs did not change");
+            return springLiquibase;
+        }
+        FingerprintSpringLiquibase liquibase = new FingerprintSpringLiquibase();
+        liquibase.setDataSource(springLiquibase.getDataSource());
+        return liquibase;
+    }
 }
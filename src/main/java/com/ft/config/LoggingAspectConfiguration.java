@@ -1,7 +1,13 @@
 package com.ft.config;
 
 import com.ft.aop.logging.LoggingAspect;
+import com.ft.aop.timing.SampledTimingAspect;
+import com.ft.aop.timing.SampledTimingMeterFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
 
@@ -14,4 +20,26 @@ public class LoggingAspectConfiguration {
     public LoggingAspect loggingAspect(Environment env) {
         return new LoggingAspect(env);
     }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.method-timing", name = "enabled", havingValue = "true")
+    public SampledTimingAspect sampledTimingAspect(
+        MeterRegistry meterRegistry,
+        SampledTimingMeterFilter sampledTimingMeterFilter,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.MethodTiming properties = applicationProperties.getMethodTiming();
+        return new SampledTimingAspect(meterRegistry, sampledTimingMeterFilter, properties.getSampleRate(), properties.isLogArguments());
+    }
+
+    /**
+     * Ordered after Spring Boot's {@code PropertiesMeterFilter} (order 0), which publishes percentile histograms and
+     * percentiles for all the timers.
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @ConditionalOnProperty(prefix = "application.method-timing", name = "enabled", havingValue = "true")
+    public SampledTimingMeterFilter sampledTimingMeterFilter(ApplicationProperties applicationProperties) {
+        return new SampledTimingMeterFilter(applicationProperties.getMethodTiming().isPercentileHistogram());
+    }
 }
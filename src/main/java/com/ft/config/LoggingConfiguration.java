@@ -5,6 +5,9 @@ import static tech.jhipster.config.logging.LoggingUtils.*;
 import ch.qos.logback.classic.LoggerContext;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.config.logging.AsyncRootAppender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.LoggerFactory;
@@ -13,7 +16,8 @@ import org.springframework.context.annotation.Configuration;
 import tech.jhipster.config.JHipsterProperties;
 
 /*
- * Configures the console and Logstash log appenders from the app properties
+ * Configures the console and Logstash log appenders from the app properties, and optionally moves them all behind
+ * an asynchronous appender
  */
 @Configuration
 public class LoggingConfiguration {
@@ -22,7 +26,9 @@ public class LoggingConfiguration {
         @Value("${spring.application.name}") String appName,
         @Value("${server.port}") String serverPort,
         JHipsterProperties jHipsterProperties,
-        ObjectMapper mapper
+        ApplicationProperties applicationProperties,
+        ObjectMapper mapper,
+        MeterRegistry meterRegistry
     ) throws JsonProcessingException {
         LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
 
@@ -43,5 +49,14 @@ public class LoggingConfiguration {
         if (loggingProperties.isUseJsonFormat() || logstashProperties.isEnabled()) {
             addContextListener(context, customFields, loggingProperties);
         }
+
+        ApplicationProperties.AsyncLogging asyncLoggingProperties = applicationProperties.getAsyncLogging();
+        if (asyncLoggingProperties.isEnabled()) {
+            Counter droppedEvents = Counter
+                .builder("logback.events.dropped")
+                .description("Log events dropped because the asynchronous appender was full")
+                .register(meterRegistry);
+            AsyncRootAppender.install(context, asyncLoggingProperties.getRingBufferSize(), droppedEvents);
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.ft.config;
 
+import com.ft.config.tracing.Tracer;
 import com.ft.security.*;
 import com.ft.security.jwt.*;
 import org.springframework.context.annotation.Bean;
@@ -28,16 +29,20 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
 
     private final TokenProvider tokenProvider;
 
+    private final Tracer tracer;
+
     private final CorsFilter corsFilter;
     private final SecurityProblemSupport problemSupport;
 
     public SecurityConfiguration(
         TokenProvider tokenProvider,
+        Tracer tracer,
         CorsFilter corsFilter,
         JHipsterProperties jHipsterProperties,
         SecurityProblemSupport problemSupport
     ) {
         this.tokenProvider = tokenProvider;
+        this.tracer = tracer;
         this.corsFilter = corsFilter;
         this.problemSupport = problemSupport;
         this.jHipsterProperties = jHipsterProperties;
@@ -106,6 +111,6 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     }
 
     private JWTConfigurer securityConfigurerAdapter() {
-        return new JWTConfigurer(tokenProvider);
+        return new JWTConfigurer(tokenProvider, tracer);
     }
 }
@@ -0,0 +1,28 @@
+package com.ft.config;
+
+import com.ft.config.startup.SelectiveLazyInitialization;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Deferred creation of the beans listed in {@code application.startup.lazy-beans}, see {@link SelectiveLazyInitialization}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.startup", name = "lazy-init", havingValue = "true")
+public class StartupConfiguration {
+
+    /**
+     * Bean factory post-processors are created before the configuration properties beans, so the properties are bound here.
+     */
+    @Bean
+    public static SelectiveLazyInitialization selectiveLazyInitialization(Environment environment) {
+        ApplicationProperties.Startup properties = Binder
+            .get(environment)
+            .bind("application.startup", ApplicationProperties.Startup.class)
+            .orElseGet(ApplicationProperties.Startup::new);
+        return new SelectiveLazyInitialization(properties.getLazyBeans());
+    }
+}
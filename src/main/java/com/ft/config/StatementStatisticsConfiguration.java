@@ -0,0 +1,45 @@
+package com.ft.config;
+
+import com.ft.config.jdbc.StatementStatisticsInspector;
+import com.ft.config.jdbc.StatementStatisticsListener;
+import com.ft.web.rest.StatementStatisticsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Per request statistics of the SQL statements run by Hibernate, see {@link StatementStatisticsInterceptor}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.statement-statistics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StatementStatisticsConfiguration implements WebMvcConfigurer {
+
+    private final ApplicationProperties.StatementStatistics properties;
+
+    private final MeterRegistry meterRegistry;
+
+    public StatementStatisticsConfiguration(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.properties = applicationProperties.getStatementStatistics();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementStatisticsHibernatePropertiesCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementStatisticsInspector());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, StatementStatisticsListener.class.getName());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry
+            .addInterceptor(new StatementStatisticsInterceptor(meterRegistry, properties.getSlowStatementThreshold(), properties.getMaxStatements()))
+            .addPathPatterns("/api/**");
+    }
+}
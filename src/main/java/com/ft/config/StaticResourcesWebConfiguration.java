@@ -1,12 +1,23 @@
 package com.ft.config;
 
+import com.ft.config.resource.ClientRouteIndexFilter;
+import com.ft.config.resource.ContentHashResourceResolver;
+import com.ft.config.resource.ResourceNotModifiedInterceptor;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnResource;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -29,6 +40,13 @@ public class StaticResourcesWebConfiguration implements WebMvcConfigurer {
         "/i18n/*",
     };
 
+    protected static final String INDEX_LOCATION = "classpath:/static/index.html";
+
+    /**
+     * Resources up to this size are kept in memory once resolved.
+     */
+    protected static final long MAX_IN_MEMORY_RESOURCE_SIZE = 4 * 1024 * 1024;
+
     private final JHipsterProperties jhipsterProperties;
 
     public StaticResourcesWebConfiguration(JHipsterProperties jHipsterProperties) {
@@ -41,12 +59,42 @@ public class StaticResourcesWebConfiguration implements WebMvcConfigurer {
         initializeResourceHandler(resourceHandlerRegistration);
     }
 
+    /**
+     * Serve the client {@code index.html} for client routes, after the security filters so that the page gets the
+     * security headers.
+     */
+    @Bean
+    @ConditionalOnResource(resources = INDEX_LOCATION)
+    public FilterRegistrationBean<ClientRouteIndexFilter> clientRouteIndexFilter(ResourceLoader resourceLoader) throws IOException {
+        FilterRegistrationBean<ClientRouteIndexFilter> registration = new FilterRegistrationBean<>(
+            new ClientRouteIndexFilter(resourceLoader.getResource(INDEX_LOCATION))
+        );
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ResourceNotModifiedInterceptor()).addPathPatterns(RESOURCE_PATHS);
+    }
+
     protected ResourceHandlerRegistration appendResourceHandler(ResourceHandlerRegistry registry) {
         return registry.addResourceHandler(RESOURCE_PATHS);
     }
 
+    /**
+     * Serve the precompressed {@code .br} and {@code .gz} variants built with the webapp when the client accepts
+     * them, and validate resources with their content hash ETag instead of their last modification date, which is
+     * the build time.
+     */
     protected void initializeResourceHandler(ResourceHandlerRegistration resourceHandlerRegistration) {
-        resourceHandlerRegistration.addResourceLocations(RESOURCE_LOCATIONS).setCacheControl(getCacheControl());
+        resourceHandlerRegistration
+            .addResourceLocations(RESOURCE_LOCATIONS)
+            .setCacheControl(getCacheControl())
+            .setUseLastModified(false)
+            .resourceChain(true)
+            .addResolver(new ContentHashResourceResolver(MAX_IN_MEMORY_RESOURCE_SIZE))
+            .addResolver(new EncodedResourceResolver());
     }
 
     protected CacheControl getCacheControl() {
@@ -0,0 +1,119 @@
+package com.ft.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ft.aop.tracing.TracingAspect;
+import com.ft.config.tracing.LoggingSpanExporter;
+import com.ft.config.tracing.SpanExporter;
+import com.ft.config.tracing.Tracer;
+import com.ft.config.tracing.TracingCacheManager;
+import com.ft.config.tracing.TracingFilter;
+import com.ft.config.tracing.ZipkinSpanExporter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import java.net.URI;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.cache.CacheMetricsRegistrar;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-process tracing of requests, see {@link Tracer}.
+ * <p>
+ * The tracer is always available, but only samples traces when tracing is enabled.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    private static final String CACHE_MANAGER_SUFFIX = "cacheManager";
+
+    @Bean
+    public Tracer tracer(ApplicationProperties applicationProperties, ObjectProvider<SpanExporter> spanExporter) {
+        ApplicationProperties.Tracing properties = applicationProperties.getTracing();
+        return new Tracer(properties.isEnabled() ? properties.getSampleRate() : 0, spanExporter.getIfAvailable(LoggingSpanExporter::new));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.tracing", name = "exporter", havingValue = "zipkin")
+    public ZipkinSpanExporter zipkinSpanExporter(
+        @Value("${spring.application.name}") String appName,
+        ApplicationProperties applicationProperties,
+        ObjectMapper mapper,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.Tracing properties = applicationProperties.getTracing();
+        return new ZipkinSpanExporter(
+            URI.create(properties.getCollectorUrl()),
+            appName,
+            mapper,
+            properties.getQueueSize(),
+            properties.getExportInterval(),
+            meterRegistry
+        );
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+    public TracingAspect tracingAspect(Tracer tracer) {
+        return new TracingAspect(tracer);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+    public static BeanPostProcessor tracingCacheManagerPostProcessor(ObjectProvider<Tracer> tracer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof CacheManager ? new TracingCacheManager((CacheManager) bean, tracer.getObject()) : bean;
+            }
+        };
+    }
+
+    /**
+     * Binds the metrics of the caches decorated by {@link TracingCacheManager}, which Spring Boot cannot unwrap, tagged
+     * like Spring Boot does.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+    public SmartInitializingSingleton tracingCacheMetrics(
+        ObjectProvider<CacheMetricsRegistrar> cacheMetricsRegistrar,
+        Map<String, CacheManager> cacheManagers
+    ) {
+        return () ->
+            cacheMetricsRegistrar.ifAvailable(
+                registrar ->
+                    cacheManagers.forEach(
+                        (beanName, cacheManager) -> {
+                            if (cacheManager instanceof TracingCacheManager) {
+                                CacheManager delegate = ((TracingCacheManager) cacheManager).getDelegate();
+                                Tag tag = Tag.of("cacheManager", getCacheManagerName(beanName));
+                                delegate.getCacheNames().forEach(name -> registrar.bindCacheToRegistry(delegate.getCache(name), tag));
+                            }
+                        }
+                    )
+            );
+    }
+
+    private static String getCacheManagerName(String beanName) {
+        if (beanName.length() > CACHE_MANAGER_SUFFIX.length() && StringUtils.endsWithIgnoreCase(beanName, CACHE_MANAGER_SUFFIX)) {
+            return beanName.substring(0, beanName.length() - CACHE_MANAGER_SUFFIX.length());
+        }
+        return beanName;
+    }
+}
@@ -2,14 +2,20 @@ package com.ft.config;
 
 import static java.net.URLDecoder.decode;
 
+import com.ft.config.undertow.XnioMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.undertow.Undertow;
+import io.undertow.UndertowOptions;
 import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
 import javax.servlet.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.undertow.ConfigurableUndertowWebServerFactory;
 import org.springframework.boot.web.server.*;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;
@@ -21,6 +27,8 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
+import org.xnio.Option;
+import org.xnio.Options;
 import tech.jhipster.config.JHipsterConstants;
 import tech.jhipster.config.JHipsterProperties;
 
@@ -36,9 +44,12 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
 
     private final JHipsterProperties jHipsterProperties;
 
-    public WebConfigurer(Environment env, JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    public WebConfigurer(Environment env, JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         this.env = env;
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -51,12 +62,60 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
     }
 
     /**
-     * Customize the Servlet engine: Mime types, the document root, the cache.
+     * Customize the Servlet engine: Mime types, the document root, the cache, the Undertow threads and limits.
      */
     @Override
     public void customize(WebServerFactory server) {
         // When running in an IDE or with ./gradlew bootRun, set location of the static web assets.
         setLocationForStaticAssets(server);
+        if (server instanceof ConfigurableUndertowWebServerFactory) {
+            customizeUndertow((ConfigurableUndertowWebServerFactory) server);
+        }
+    }
+
+    /**
+     * Apply the {@code application.undertow} settings, the unset ones are left to {@code server.undertow} or to the
+     * Undertow defaults.
+     */
+    private void customizeUndertow(ConfigurableUndertowWebServerFactory undertow) {
+        ApplicationProperties.Undertow properties = applicationProperties.getUndertow();
+        if (properties.getIoThreads() != null) {
+            undertow.setIoThreads(properties.getIoThreads());
+        }
+        if (properties.getWorkerThreads() != null) {
+            undertow.setWorkerThreads(properties.getWorkerThreads());
+        }
+        if (properties.getBufferSize() != null) {
+            undertow.setBufferSize((int) properties.getBufferSize().toBytes());
+        }
+        if (properties.getDirectBuffers() != null) {
+            undertow.setUseDirectBuffers(properties.getDirectBuffers());
+        }
+        undertow.addBuilderCustomizers(
+            builder -> {
+                if (properties.getMaxConnections() != null) {
+                    // Connections are accepted again once their number drops under 90% of the limit
+                    builder.setSocketOption(Options.CONNECTION_HIGH_WATER, properties.getMaxConnections());
+                    builder.setSocketOption(Options.CONNECTION_LOW_WATER, properties.getMaxConnections() * 9 / 10);
+                }
+                setServerOption(builder, UndertowOptions.NO_REQUEST_TIMEOUT, toMillis(properties.getNoRequestTimeout()));
+                setServerOption(builder, UndertowOptions.REQUEST_PARSE_TIMEOUT, toMillis(properties.getRequestParseTimeout()));
+                setServerOption(builder, UndertowOptions.MAX_HEADERS, properties.getMaxHeaders());
+                setServerOption(builder, UndertowOptions.MAX_PARAMETERS, properties.getMaxParameters());
+                setServerOption(builder, UndertowOptions.MAX_COOKIES, properties.getMaxCookies());
+                setServerOption(builder, UndertowOptions.HTTP2_SETTINGS_MAX_CONCURRENT_STREAMS, properties.getHttp2MaxConcurrentStreams());
+            }
+        );
+    }
+
+    private static void setServerOption(Undertow.Builder builder, Option<Integer> option, Integer value) {
+        if (value != null) {
+            builder.setServerOption(option, value);
+        }
+    }
+
+    private static Integer toMillis(Duration duration) {
+        return duration != null ? (int) duration.toMillis() : null;
     }
 
     private void setLocationForStaticAssets(WebServerFactory server) {
@@ -91,6 +150,11 @@ public class WebConfigurer implements ServletContextInitializer, WebServerFactor
         return extractedPath.substring(0, extractionEndIndex);
     }
 
+    @Bean
+    public XnioMetrics xnioMetrics(MeterRegistry meterRegistry) {
+        return new XnioMetrics(meterRegistry);
+    }
+
     @Bean
     public CorsFilter corsFilter() {
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,400 @@
+package com.ft.config.compression;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Gzip compression of the responses whose content type is one of the configured ones.
+ * <p>
+ * The start of the body is buffered until the minimum response size is reached, so that small responses go out
+ * uncompressed. Server-sent event streams are compressed from their first byte and never buffered: each flush of
+ * the response, done by Spring after each event, flushes the compressor too.
+ * <p>
+ * The compression ratio and the CPU time spent compressing are exported as the
+ * {@code http.server.responses.compression.ratio} summary and the {@code http.server.responses.compression.cpu}
+ * timer, tagged with the URI pattern of the request.
+ */
+public class CompressionFilter extends OncePerRequestFilter {
+
+    private static final int MIN_BUFFER_SIZE = 8192;
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final List<MimeType> mimeTypes;
+
+    private final int minResponseSize;
+
+    private final int level;
+
+    private final MeterRegistry meterRegistry;
+
+    public CompressionFilter(List<String> mimeTypes, int minResponseSize, int level, MeterRegistry meterRegistry) {
+        this.mimeTypes = mimeTypes.stream().map(MimeType::valueOf).collect(Collectors.toList());
+        this.minResponseSize = minResponseSize;
+        this.level = level;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Streams started by an asynchronous request are finished on the last dispatch of the request.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        CompressingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CompressingResponseWrapper.class);
+        if (wrapper == null) {
+            if ("HEAD".equals(request.getMethod()) || !acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            wrapper = new CompressingResponseWrapper(response);
+        }
+        filterChain.doFilter(request, wrapper);
+        if (!isAsyncStarted(request)) {
+            wrapper.finish(request);
+        }
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!"gzip".equalsIgnoreCase(name) && !"*".equals(name)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=") && isZero(parameter.substring(2).trim())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality) == 0;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    private enum Mode {
+        UNDECIDED,
+        IDENTITY,
+        GZIP,
+        FINISHED
+    }
+
+    private final class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final CompressingOutputStream outputStream = new CompressingOutputStream();
+
+        private PrintWriter writer;
+
+        private long contentLength = -1;
+
+        CompressingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            // The length of a compressed body is not known in advance
+            if (outputStream.mode == Mode.IDENTITY) {
+                super.setContentLengthLong(len);
+            } else {
+                contentLength = len;
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            outputStream.flush();
+        }
+
+        @Override
+        public void resetBuffer() {
+            outputStream.resetBuffer();
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            outputStream.resetBuffer();
+            contentLength = -1;
+            super.reset();
+        }
+
+        void finish(HttpServletRequest request) throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            outputStream.finish(request);
+        }
+
+        private Mode decide(int buffered) {
+            String encoding = getHeader(HttpHeaders.CONTENT_ENCODING);
+            MimeType contentType = contentType();
+            if (encoding != null || contentType == null || mimeTypes.stream().noneMatch(type -> type.isCompatibleWith(contentType))) {
+                return identity();
+            }
+            if (isEventStream()) {
+                return gzip();
+            }
+            return buffered < minResponseSize ? identity() : gzip();
+        }
+
+        private boolean isEventStream() {
+            MimeType contentType = contentType();
+            return contentType != null && MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(contentType);
+        }
+
+        private MimeType contentType() {
+            try {
+                return getContentType() != null ? MimeType.valueOf(getContentType()) : null;
+            } catch (InvalidMimeTypeException e) {
+                return null;
+            }
+        }
+
+        private Mode identity() {
+            if (contentLength >= 0) {
+                super.setContentLengthLong(contentLength);
+            }
+            return Mode.IDENTITY;
+        }
+
+        private Mode gzip() {
+            setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            if (getHeaders(HttpHeaders.VARY).stream().noneMatch(vary -> vary.contains(HttpHeaders.ACCEPT_ENCODING))) {
+                addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            return Mode.GZIP;
+        }
+
+        private final class CompressingOutputStream extends ServletOutputStream {
+
+            private final byte[] buffer = new byte[Math.max(MIN_BUFFER_SIZE, minResponseSize)];
+
+            private int count;
+
+            private Mode mode = Mode.UNDECIDED;
+
+            private CountingOutputStream target;
+
+            private GZIPOutputStream gzip;
+
+            private long uncompressedSize;
+
+            private long cpuNanos;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (count == buffer.length) {
+                    drain(false);
+                }
+                buffer[count++] = (byte) b;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                while (len > 0) {
+                    if (count == buffer.length) {
+                        drain(false);
+                    }
+                    int chunk = Math.min(len, buffer.length - count);
+                    System.arraycopy(b, off, buffer, count, chunk);
+                    count += chunk;
+                    off += chunk;
+                    len -= chunk;
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                drain(true);
+            }
+
+            @Override
+            public boolean isReady() {
+                return getResponse().getOutputStream().isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    getResponse().getOutputStream().setWriteListener(writeListener);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+
+            void resetBuffer() {
+                if (mode == Mode.UNDECIDED) {
+                    count = 0;
+                }
+            }
+
+            void finish(HttpServletRequest request) throws IOException {
+                if (mode == Mode.FINISHED) {
+                    return;
+                }
+                drain(false);
+                if (mode == Mode.GZIP) {
+                    long start = cpuTime();
+                    gzip.finish();
+                    cpuNanos += cpuTime() - start;
+                    record(request);
+                }
+                mode = Mode.FINISHED;
+            }
+
+            private void drain(boolean flush) throws IOException {
+                if (mode == Mode.UNDECIDED) {
+                    if (flush && count == 0 && !isEventStream()) {
+                        // Nothing to send yet, the headers are kept open until the encoding is known
+                        return;
+                    }
+                    mode = decide(count);
+                    target = new CountingOutputStream(getResponse().getOutputStream());
+                    if (mode == Mode.GZIP) {
+                        gzip = new LeveledGzipOutputStream(target, level);
+                    }
+                }
+                if (mode == Mode.IDENTITY) {
+                    target.write(buffer, 0, count);
+                    if (flush) {
+                        target.flush();
+                    }
+                } else if (mode == Mode.GZIP) {
+                    long start = cpuTime();
+                    gzip.write(buffer, 0, count);
+                    if (flush) {
+                        gzip.flush();
+                    }
+                    cpuNanos += cpuTime() - start;
+                    uncompressedSize += count;
+                }
+                count = 0;
+            }
+
+            private void record(HttpServletRequest request) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+                if (uncompressedSize > 0) {
+                    DistributionSummary
+                        .builder("http.server.responses.compression.ratio")
+                        .description("Compressed size of the responses divided by their uncompressed size")
+                        .tag("uri", uri)
+                        .tag("encoding", "gzip")
+                        .register(meterRegistry)
+                        .record((double) target.count / uncompressedSize);
+                }
+                Timer
+                    .builder("http.server.responses.compression.cpu")
+                    .description("CPU time spent compressing the responses")
+                    .tag("uri", uri)
+                    .tag("encoding", "gzip")
+                    .register(meterRegistry)
+                    .record(cpuNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, MIN_BUFFER_SIZE, true);
+            def.setLevel(level);
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
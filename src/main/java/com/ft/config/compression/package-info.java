@@ -0,0 +1,4 @@
+/**
+ * Response compression of the REST API, including server-sent event streams.
+ */
+package com.ft.config.compression;
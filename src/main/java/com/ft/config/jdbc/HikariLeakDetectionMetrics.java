@@ -0,0 +1,147 @@
+package com.ft.config.jdbc;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Counts the connection leaks reported by Hikari, as {@code hikaricp.connections.leaks}.
+ * <p>
+ * Hikari only reports leaks, detected once a connection is held longer than its {@code leakDetectionThreshold},
+ * through its logs: the reports are counted by an appender on the leak detection logger, tagged with the pool and
+ * whether the connection was eventually returned. Leaks are reported at WARN by the housekeeper thread of the pool,
+ * and returns at INFO by the thread which returned the connection, so the level of the leak detection logger must be
+ * INFO for the returns to be counted; the pool of a return is the pool the same connection leaked from.
+ * <p>
+ * The appender is attached again whenever the logging system is reconfigured, as a reset detaches it.
+ */
+public class HikariLeakDetectionMetrics implements LoggerContextListener, DisposableBean {
+
+    static final String LEAK_LOGGER = "com.zaxxer.hikari.pool.ProxyLeakTask";
+
+    private static final String LEAKED_MESSAGE = "Connection leak detection triggered";
+
+    private static final String RETURNED_MESSAGE = "Previously reported leaked connection";
+
+    private static final String HOUSEKEEPER_THREAD_SUFFIX = " housekeeper";
+
+    private static final String UNKNOWN_POOL = "unknown";
+
+    private static final int MAX_TRACKED_LEAKS = 1000;
+
+    private final LoggerContext context;
+
+    private final Logger leakLogger;
+
+    private final LeakAppender appender;
+
+    public HikariLeakDetectionMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, (LoggerContext) LoggerFactory.getILoggerFactory());
+    }
+
+    HikariLeakDetectionMetrics(MeterRegistry meterRegistry, LoggerContext context) {
+        this.context = context;
+        this.leakLogger = context.getLogger(LEAK_LOGGER);
+        this.appender = new LeakAppender(meterRegistry);
+        appender.setContext(context);
+        appender.setName("HIKARI_LEAKS");
+        attach();
+        context.addListener(this);
+    }
+
+    private void attach() {
+        if (leakLogger.getAppender(appender.getName()) == null) {
+            appender.start();
+            leakLogger.addAppender(appender);
+        }
+    }
+
+    @Override
+    public boolean isResetResistant() {
+        return true;
+    }
+
+    @Override
+    public void onStart(LoggerContext context) {
+        attach();
+    }
+
+    @Override
+    public void onReset(LoggerContext context) {
+        // The reset detached and stopped the appender, the loggers themselves are kept
+        attach();
+    }
+
+    @Override
+    public void onStop(LoggerContext context) {
+        // Nothing to do
+    }
+
+    @Override
+    public void onLevelChange(Logger logger, Level level) {
+        // Nothing to do
+    }
+
+    @Override
+    public void destroy() {
+        context.removeListener(this);
+        leakLogger.detachAppender(appender);
+        appender.stop();
+    }
+
+    private static final class LeakAppender extends AppenderBase<ILoggingEvent> {
+
+        private final MeterRegistry meterRegistry;
+
+        /**
+         * Pools of the connections reported as leaked, by connection name.
+         */
+        private final Map<String, String> leakedConnectionPools = new ConcurrentHashMap<>();
+
+        LeakAppender(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            String message = event.getMessage();
+            Object[] arguments = event.getArgumentArray();
+            String connection = arguments != null && arguments.length > 0 ? String.valueOf(arguments[0]) : null;
+            String pool;
+            String state;
+            if (message.startsWith(LEAKED_MESSAGE)) {
+                state = "leaked";
+                String thread = event.getThreadName();
+                pool =
+                    thread.endsWith(HOUSEKEEPER_THREAD_SUFFIX)
+                        ? thread.substring(0, thread.length() - HOUSEKEEPER_THREAD_SUFFIX.length())
+                        : UNKNOWN_POOL;
+                if (connection != null && leakedConnectionPools.size() < MAX_TRACKED_LEAKS) {
+                    leakedConnectionPools.put(connection, pool);
+                }
+            } else if (message.startsWith(RETURNED_MESSAGE)) {
+                state = "returned";
+                String leakedFrom = connection != null ? leakedConnectionPools.remove(connection) : null;
+                pool = leakedFrom != null ? leakedFrom : UNKNOWN_POOL;
+            } else {
+                return;
+            }
+            Counter
+                .builder("hikaricp.connections.leaks")
+                .description("Connections held longer than the leak detection threshold")
+                .tag("pool", pool)
+                .tag("state", state)
+                .register(meterRegistry)
+                .increment();
+        }
+    }
+}
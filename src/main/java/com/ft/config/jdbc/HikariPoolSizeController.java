@@ -0,0 +1,130 @@
+package com.ft.config.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Adjusts the maximum size of Hikari pools to the time threads wait for a connection.
+ * <p>
+ * At each interval, the mean acquire time of each pool, taken from the {@code hikaricp.connections.acquire} timer,
+ * is compared to the target: the pool grows by one step when threads waited longer, and shrinks by one step when
+ * they waited less than a quarter of it, always within the configured bounds.
+ */
+public class HikariPoolSizeController implements DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(HikariPoolSizeController.class);
+
+    private final List<ControlledPool> pools;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final int step;
+
+    private final double targetAcquireNanos;
+
+    private final ScheduledExecutorService executor;
+
+    public HikariPoolSizeController(
+        List<HikariDataSource> dataSources,
+        MeterRegistry meterRegistry,
+        int minSize,
+        int maxSize,
+        int step,
+        Duration targetAcquireTime,
+        Duration interval
+    ) {
+        this.pools = dataSources.stream().map(ControlledPool::new).collect(Collectors.toList());
+        this.meterRegistry = meterRegistry;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.step = step;
+        this.targetAcquireNanos = targetAcquireTime.toNanos();
+        this.executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("hikari-pool-size-"));
+        executor.scheduleWithFixedDelay(this::adjust, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void adjust() {
+        for (ControlledPool pool : pools) {
+            try {
+                adjust(pool);
+            } catch (RuntimeException e) {
+                log.warn("Could not adjust the size of pool {}: {}", pool.dataSource.getPoolName(), e.getMessage());
+            }
+        }
+    }
+
+    private void adjust(ControlledPool pool) {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool.dataSource.getPoolName()).timer();
+        if (acquire == null) {
+            return;
+        }
+        long count = acquire.count();
+        double totalNanos = acquire.totalTime(TimeUnit.NANOSECONDS);
+        long acquired = count - pool.lastCount;
+        double meanAcquireNanos = acquired > 0 ? (totalNanos - pool.lastTotalNanos) / acquired : 0;
+        pool.lastCount = count;
+        pool.lastTotalNanos = totalNanos;
+        if (acquired == 0) {
+            return;
+        }
+
+        int current = pool.dataSource.getMaximumPoolSize();
+        int target = current;
+        if (meanAcquireNanos > targetAcquireNanos) {
+            target = Math.min(current + step, maxSize);
+        } else if (meanAcquireNanos < targetAcquireNanos / 4) {
+            target = Math.max(current - step, minSize);
+        }
+        if (target != current) {
+            log.info(
+                "Resizing pool {} from {} to {} connections, mean acquire time was {}ms",
+                pool.dataSource.getPoolName(),
+                current,
+                target,
+                meanAcquireNanos / 1_000_000
+            );
+            pool.dataSource.getHikariConfigMXBean().setMaximumPoolSize(target);
+            Counter
+                .builder("hikaricp.connections.resize")
+                .description("Changes of the maximum pool size")
+                .tag("pool", pool.dataSource.getPoolName())
+                .tag("direction", target > current ? "up" : "down")
+                .register(meterRegistry)
+                .increment();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static final class ControlledPool {
+
+        private final HikariDataSource dataSource;
+
+        private long lastCount;
+
+        private double lastTotalNanos;
+
+        ControlledPool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.ft.config.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the replicas, and everything else to the primary.
+ * <p>
+ * The replication lag of each replica is checked periodically: a replica which lags more than allowed, or whose lag
+ * cannot be read, gets no traffic until it catches up. When no replica is usable, read-only transactions fall back
+ * to the primary. The lag is read with {@code SHOW REPLICA STATUS}, or {@code SHOW SLAVE STATUS} on servers older
+ * than MySQL 8.0.22 and MariaDB 10.5.1; both need the {@code REPLICATION CLIENT} privilege, and the failures to read
+ * it are logged and counted in {@code datasource.replica.lag.errors}.
+ * <p>
+ * The routing decision is taken when a connection is requested, so this data source must be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction read-only flag is only
+ * known once the transaction has begun.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA_STATUS_QUERY = "SHOW REPLICA STATUS";
+
+    private static final String LEGACY_REPLICA_STATUS_QUERY = "SHOW SLAVE STATUS";
+
+    private static final Set<String> LAG_COLUMNS = Set.of("Seconds_Behind_Source", "Seconds_Behind_Master");
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final long maxLagSeconds;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final ScheduledExecutorService lagChecker;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter primaryRoutes;
+
+    private final Counter replicaRoutes;
+
+    private final Counter fallbackRoutes;
+
+    public ReplicaRoutingDataSource(
+        HikariDataSource primary,
+        List<HikariDataSource> replicaPools,
+        Duration maxLag,
+        Duration lagCheckInterval,
+        MeterRegistry meterRegistry
+    ) {
+        this(
+            primary,
+            replicaPools,
+            maxLag,
+            lagCheckInterval,
+            meterRegistry,
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-lag-"))
+        );
+    }
+
+    ReplicaRoutingDataSource(
+        HikariDataSource primary,
+        List<HikariDataSource> replicaPools,
+        Duration maxLag,
+        Duration lagCheckInterval,
+        MeterRegistry meterRegistry,
+        ScheduledExecutorService lagChecker
+    ) {
+        this.maxLagSeconds = maxLag.getSeconds();
+        this.meterRegistry = meterRegistry;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource pool : replicaPools) {
+            Replica replica = new Replica(pool);
+            replicas.add(replica);
+            targets.put(pool.getPoolName(), pool);
+            Gauge
+                .builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                .description("Replication lag of the replica, in seconds, negative when unknown")
+                .baseUnit("seconds")
+                .tag("pool", pool.getPoolName())
+                .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.primaryRoutes = routes(meterRegistry, "primary");
+        this.replicaRoutes = routes(meterRegistry, "replica");
+        this.fallbackRoutes = routes(meterRegistry, "fallback");
+        this.lagChecker = lagChecker;
+        lagChecker.scheduleWithFixedDelay(this::checkLag, 0, lagCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static Counter routes(MeterRegistry meterRegistry, String target) {
+        return Counter
+            .builder("datasource.routing")
+            .description("Connections routed to the primary, to a replica, or to the primary because no replica is usable")
+            .tag("target", target)
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.usable) {
+                replicaRoutes.increment();
+                return replica.pool.getPoolName();
+            }
+        }
+        fallbackRoutes.increment();
+        return PRIMARY;
+    }
+
+    void checkLag() {
+        for (Replica replica : replicas) {
+            try {
+                replica.lagSeconds = readLag(replica);
+                replica.lastError = null;
+            } catch (SQLException | RuntimeException e) {
+                if (replica.lastError == null) {
+                    log.warn("Could not read the replication lag of {}: {}", replica.pool.getPoolName(), e.getMessage());
+                } else {
+                    log.debug("Could not read the replication lag of {}: {}", replica.pool.getPoolName(), e.getMessage());
+                }
+                replica.lastError = e;
+                replica.lagSeconds = -1;
+                Counter
+                    .builder("datasource.replica.lag.errors")
+                    .description("Failures to read the replication lag of the replica")
+                    .tag("pool", replica.pool.getPoolName())
+                    .register(meterRegistry)
+                    .increment();
+            }
+            boolean usable = replica.lagSeconds >= 0 && replica.lagSeconds <= maxLagSeconds;
+            if (usable != replica.usable) {
+                if (usable) {
+                    log.info("Replica {} is usable again, lag is {}s", replica.pool.getPoolName(), replica.lagSeconds);
+                } else {
+                    log.warn("Replica {} is not used, lag is {}s", replica.pool.getPoolName(), replica.lagSeconds);
+                }
+                replica.usable = usable;
+            }
+        }
+    }
+
+    private static long readLag(Replica replica) throws SQLException {
+        try (Connection connection = replica.pool.getConnection(); Statement statement = connection.createStatement()) {
+            try {
+                if (!replica.legacyStatus) {
+                    try (ResultSet status = statement.executeQuery(REPLICA_STATUS_QUERY)) {
+                        return readLag(status);
+                    } catch (SQLSyntaxErrorException e) {
+                        // Servers older than MySQL 8.0.22 and MariaDB 10.5.1 only know the legacy statement
+                        replica.legacyStatus = true;
+                    }
+                }
+                try (ResultSet status = statement.executeQuery(LEGACY_REPLICA_STATUS_QUERY)) {
+                    return readLag(status);
+                }
+            } finally {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+            }
+        }
+    }
+
+    private static long readLag(ResultSet status) throws SQLException {
+        if (!status.next()) {
+            // Not a replica of anything, so never behind
+            return 0;
+        }
+        ResultSetMetaData metaData = status.getMetaData();
+        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+            if (LAG_COLUMNS.contains(metaData.getColumnLabel(column))) {
+                long lag = status.getLong(column);
+                // A null lag means that replication is stopped
+                return status.wasNull() ? -1 : lag;
+            }
+        }
+        throw new SQLException("The replica status has none of the columns " + LAG_COLUMNS);
+    }
+
+    @Override
+    public void destroy() {
+        lagChecker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+
+        private volatile long lagSeconds = -1;
+
+        private volatile boolean usable;
+
+        private volatile boolean legacyStatus;
+
+        private volatile Exception lastError;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
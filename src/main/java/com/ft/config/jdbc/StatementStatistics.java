@@ -0,0 +1,106 @@
+package com.ft.config.jdbc;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Statistics of the SQL statements run by Hibernate for one unit of work, usually a request, on the current thread.
+ * <p>
+ * Statements are counted and timed only between {@link #start(String, Duration)} and {@link #stop()}, and each
+ * statement slower than the threshold is logged with the name of the unit of work.
+ */
+public final class StatementStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementStatistics.class);
+
+    private static final ThreadLocal<StatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+
+    private final long slowStatementThresholdNanos;
+
+    private String preparedSql;
+
+    private int count;
+
+    private long totalNanos;
+
+    private long slowestNanos;
+
+    private String slowestSql;
+
+    StatementStatistics(String name, Duration slowStatementThreshold) {
+        this.name = name;
+        this.slowStatementThresholdNanos = slowStatementThreshold.toNanos();
+    }
+
+    /**
+     * Start collecting the statistics of the statements run on the current thread.
+     *
+     * @param name the name of the unit of work, used in the slow statement log.
+     * @param slowStatementThreshold the time from which a statement is logged.
+     * @return the statistics.
+     */
+    public static StatementStatistics start(String name, Duration slowStatementThreshold) {
+        StatementStatistics statistics = new StatementStatistics(name, slowStatementThreshold);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Get the statistics collected on the current thread, if started.
+     *
+     * @return the statistics, or {@code null} if not started.
+     */
+    public static StatementStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop collecting the statistics of the statements run on the current thread.
+     *
+     * @return the statistics, or {@code null} if not started.
+     */
+    public static StatementStatistics stop() {
+        StatementStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    void prepared(String sql) {
+        this.preparedSql = sql;
+    }
+
+    void executed(long nanos) {
+        count++;
+        totalNanos += nanos;
+        if (nanos > slowestNanos) {
+            slowestNanos = nanos;
+            slowestSql = preparedSql;
+        }
+        if (nanos >= slowStatementThresholdNanos) {
+            log.warn("Slow statement in {} took {}ms: {}", name, nanos / 1_000_000, preparedSql);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos);
+    }
+
+    public Duration getSlowestTime() {
+        return Duration.ofNanos(slowestNanos);
+    }
+
+    public String getSlowestSql() {
+        return slowestSql;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ft.config.jdbc;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Keeps the SQL of the statement Hibernate prepares, so that {@link StatementStatisticsListener} can tell which
+ * statement it timed. The SQL is never changed.
+ */
+public class StatementStatisticsInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        StatementStatistics statistics = StatementStatistics.current();
+        if (statistics != null) {
+            statistics.prepared(sql);
+        }
+        return sql;
+    }
+}
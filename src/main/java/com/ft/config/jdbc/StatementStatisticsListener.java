@@ -0,0 +1,43 @@
+package com.ft.config.jdbc;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times the statements and batches executed by a Hibernate session, into the {@link StatementStatistics} of the
+ * current thread.
+ * <p>
+ * Hibernate creates one listener per session, which is only used by one thread at a time.
+ */
+public class StatementStatisticsListener extends BaseSessionEventListener {
+
+    private long executeStart;
+
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed(executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed(batchStart);
+    }
+
+    private static void executed(long start) {
+        StatementStatistics statistics = StatementStatistics.current();
+        if (statistics != null) {
+            statistics.executed(System.nanoTime() - start);
+        }
+    }
+}
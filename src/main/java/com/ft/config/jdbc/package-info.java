@@ -0,0 +1,4 @@
+/**
+ * JDBC infrastructure: data source routing and connection pool instrumentation.
+ */
+package com.ft.config.jdbc;
@@ -0,0 +1,186 @@
+package com.ft.config.liquibase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import liquibase.util.LiquibaseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StopWatch;
+
+/**
+ * Runs Liquibase synchronously, unless nothing changed since its last update.
+ * <p>
+ * Parsing and checksumming the changelogs takes seconds, even when every change set is already applied. After each
+ * update, a fingerprint of the changelog resources and of the Liquibase settings is stored in the
+ * {@code jhi_changelog_fingerprint} table, with the number of applied change sets. At the next startup, Liquibase is
+ * skipped when both still match, so that a change of the changelogs, or of the {@code DATABASECHANGELOG} table by
+ * another node or by hand, always runs it.
+ * <p>
+ * Every resource under {@code config/liquibase} is part of the fingerprint, including the loaded data, so any change
+ * of these files runs Liquibase even if it does not apply anything new.
+ */
+public class FingerprintSpringLiquibase extends SpringLiquibase {
+
+    static final String FINGERPRINT_TABLE = "jhi_changelog_fingerprint";
+
+    private static final String FINGERPRINT_ID = "changelog";
+
+    private static final String CHANGELOG_RESOURCES = "classpath*:config/liquibase/**/*";
+
+    private static final String CHANGELOG_DIRECTORY = "config/liquibase/";
+
+    private static final String DEFAULT_CHANGELOG_TABLE = "DATABASECHANGELOG";
+
+    private final Logger log = LoggerFactory.getLogger(FingerprintSpringLiquibase.class);
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        if (!shouldRun || isDropFirst()) {
+            super.afterPropertiesSet();
+            return;
+        }
+        StopWatch watch = new StopWatch();
+        watch.start();
+        String fingerprint = computeFingerprint();
+        if (isUpToDate(fingerprint)) {
+            watch.stop();
+            log.info("Skipped Liquibase, the changelogs did not change since its last update (checked in {} ms)", watch.getTotalTimeMillis());
+            return;
+        }
+        super.afterPropertiesSet();
+        storeFingerprint(fingerprint);
+        watch.stop();
+        log.debug("Liquibase updated the database in {} ms", watch.getTotalTimeMillis());
+    }
+
+    /**
+     * Compute the fingerprint of the changelog resources and of the settings which change what Liquibase applies.
+     *
+     * @return the fingerprint.
+     * @throws LiquibaseException if the changelog resources cannot be read.
+     */
+    String computeFingerprint() throws LiquibaseException {
+        StringBuilder content = new StringBuilder();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver(getResourceLoader()).getResources(CHANGELOG_RESOURCES);
+            Map<String, Resource> resourcesByPath = new TreeMap<>();
+            for (Resource resource : resources) {
+                if (resource.isReadable()) {
+                    resourcesByPath.putIfAbsent(relativePath(resource.getURL()), resource);
+                }
+            }
+            for (Map.Entry<String, Resource> resource : resourcesByPath.entrySet()) {
+                try (InputStream inputStream = resource.getValue().getInputStream()) {
+                    content.append(resource.getKey()).append('=').append(DigestUtils.md5DigestAsHex(inputStream)).append('\n');
+                }
+            }
+        } catch (IOException e) {
+            throw new LiquibaseException("Could not read the changelogs", e);
+        }
+        content
+            .append(LiquibaseUtil.getBuildVersion())
+            .append('\n')
+            .append(getChangeLog())
+            .append('\n')
+            .append(getContexts())
+            .append('\n')
+            .append(getLabels())
+            .append('\n')
+            .append(parameters != null ? new TreeMap<>(parameters) : null)
+            .append('\n')
+            .append(getDefaultSchema());
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String relativePath(URL url) {
+        String path = url.toString();
+        int index = path.lastIndexOf(CHANGELOG_DIRECTORY);
+        return index >= 0 ? path.substring(index) : path;
+    }
+
+    private boolean isUpToDate(String fingerprint) {
+        try (
+            Connection connection = getDataSource().getConnection();
+            PreparedStatement select = connection.prepareStatement(
+                "select fingerprint, change_sets from " + qualify(getDefaultSchema(), FINGERPRINT_TABLE) + " where id = ?"
+            )
+        ) {
+            select.setString(1, FINGERPRINT_ID);
+            try (ResultSet stored = select.executeQuery()) {
+                return stored.next() && fingerprint.equals(stored.getString(1)) && stored.getInt(2) == countChangeSets(connection);
+            }
+        } catch (SQLException e) {
+            // The table does not exist until the first update which creates it
+            log.debug("Could not read the Liquibase changelog fingerprint: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void storeFingerprint(String fingerprint) {
+        String table = qualify(getDefaultSchema(), FINGERPRINT_TABLE);
+        try (Connection connection = getDataSource().getConnection()) {
+            int changeSets = countChangeSets(connection);
+            Timestamp now = Timestamp.from(Instant.now());
+            int updated;
+            try (
+                PreparedStatement update = connection.prepareStatement(
+                    "update " + table + " set fingerprint = ?, change_sets = ?, updated_date = ? where id = ?"
+                )
+            ) {
+                update.setString(1, fingerprint);
+                update.setInt(2, changeSets);
+                update.setTimestamp(3, now);
+                update.setString(4, FINGERPRINT_ID);
+                updated = update.executeUpdate();
+            }
+            if (updated == 0) {
+                try (
+                    PreparedStatement insert = connection.prepareStatement(
+                        "insert into " + table + " (id, fingerprint, change_sets, updated_date) values (?, ?, ?, ?)"
+                    )
+                ) {
+                    insert.setString(1, FINGERPRINT_ID);
+                    insert.setString(2, fingerprint);
+                    insert.setInt(3, changeSets);
+                    insert.setTimestamp(4, now);
+                    insert.executeUpdate();
+                }
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            // Another node may have stored it at the same time, at worst Liquibase runs again at the next startup
+            log.warn("Could not store the Liquibase changelog fingerprint: {}", e.getMessage());
+        }
+    }
+
+    private int countChangeSets(Connection connection) throws SQLException {
+        String schema = getLiquibaseSchema() != null ? getLiquibaseSchema() : getDefaultSchema();
+        String table = getDatabaseChangeLogTable() != null ? getDatabaseChangeLogTable() : DEFAULT_CHANGELOG_TABLE;
+        try (Statement statement = connection.createStatement(); ResultSet count = statement.executeQuery("select count(*) from " + qualify(schema, table))) {
+            count.next();
+            return count.getInt(1);
+        }
+    }
+
+    private static String qualify(String schema, String table) {
+        return schema != null && !schema.isEmpty() ? schema + "." + table : table;
+    }
+}
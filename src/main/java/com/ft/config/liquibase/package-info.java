@@ -0,0 +1,4 @@
+/**
+ * Liquibase infrastructure: skipping unchanged changelogs at startup.
+ */
+package com.ft.config.liquibase;
@@ -0,0 +1,200 @@
+package com.ft.config.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.spi.ContextAwareBase;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.logstash.logback.appender.AsyncDisruptorAppender;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.appender.listener.AppenderListener;
+import org.slf4j.Marker;
+
+/**
+ * Moves the synchronous appenders of the root logger behind an asynchronous appender, so that logging never blocks the calling
+ * thread on I/O.
+ * <p>
+ * Events are handed over through a bounded, lock-free ring buffer, and written by a single thread. When the ring
+ * buffer is full, events are dropped instead of waiting, and counted by the given counter.
+ * <p>
+ * A reset of the logging context, such as a reconfiguration after a change of the configuration file, detaches all the
+ * root appenders. They are wrapped again once the context is started, or else on the first logging call after the reset,
+ * when the new configuration has attached its appenders.
+ */
+public final class AsyncRootAppender {
+
+    public static final String APPENDER_NAME = "ASYNC_ROOT";
+
+    private AsyncRootAppender() {}
+
+    /**
+     * Install the asynchronous appender on the root logger, again after each reconfiguration of the logging context.
+     *
+     * @param context the logging context.
+     * @param ringBufferSize the number of events the ring buffer holds, a power of 2.
+     * @param droppedEvents the counter of the events dropped because the ring buffer was full.
+     */
+    public static void install(LoggerContext context, int ringBufferSize, Counter droppedEvents) {
+        wrapRootAppenders(context, ringBufferSize, droppedEvents);
+        context.addListener(new ResetListener(ringBufferSize, droppedEvents));
+    }
+
+    /**
+     * Moves the synchronous root appenders behind the asynchronous appender, creating it unless there is nothing to wrap.
+     * Appenders attached next to an already installed asynchronous appender are moved behind it as well.
+     */
+    static void wrapRootAppenders(LoggerContext context, int ringBufferSize, Counter droppedEvents) {
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        rootLogger
+            .iteratorForAppenders()
+            .forEachRemaining(
+                appender -> {
+                    // Skip the appenders which are already asynchronous, such as the Logstash appender
+                    if (!(appender instanceof AsyncAppenderBase) && !(appender instanceof AsyncDisruptorAppender)) {
+                        appenders.add(appender);
+                    }
+                }
+            );
+        if (appenders.isEmpty()) {
+            return;
+        }
+
+        LoggingEventAsyncDisruptorAppender asyncAppender = (LoggingEventAsyncDisruptorAppender) rootLogger.getAppender(APPENDER_NAME);
+        boolean installed = asyncAppender != null;
+        if (!installed) {
+            asyncAppender = new LoggingEventAsyncDisruptorAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName(APPENDER_NAME);
+            asyncAppender.setRingBufferSize(ringBufferSize);
+            asyncAppender.addListener(new DroppedEventsListener(droppedEvents));
+        }
+        for (Appender<ILoggingEvent> appender : appenders) {
+            rootLogger.detachAppender(appender);
+            asyncAppender.addAppender(appender);
+        }
+        if (!installed) {
+            asyncAppender.start();
+            rootLogger.addAppender(asyncAppender);
+        }
+    }
+
+    private static final class DroppedEventsListener implements AppenderListener<ILoggingEvent> {
+
+        /**
+         * Simple name of the private exception {@link AsyncDisruptorAppender} reports when its ring buffer is full.
+         */
+        private static final String RING_BUFFER_FULL_EXCEPTION = "RingBufferFullException";
+
+        private final Counter droppedEvents;
+
+        DroppedEventsListener(Counter droppedEvents) {
+            this.droppedEvents = droppedEvents;
+        }
+
+        @Override
+        public void appenderStarted(Appender<ILoggingEvent> appender) {
+            // Nothing to count
+        }
+
+        @Override
+        public void appenderStopped(Appender<ILoggingEvent> appender) {
+            // Nothing to count
+        }
+
+        @Override
+        public void eventAppended(Appender<ILoggingEvent> appender, ILoggingEvent event, long durationInNanos) {
+            // Nothing to count
+        }
+
+        @Override
+        public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+            // Other failures, such as appending to a stopped appender, are not dropped by the ring buffer
+            if (reason != null && RING_BUFFER_FULL_EXCEPTION.equals(reason.getClass().getSimpleName())) {
+                droppedEvents.increment();
+            }
+        }
+    }
+
+    /**
+     * Wraps the root appenders again after a reset, which removes them all. A reset happens before the new configuration
+     * attaches its appenders, so wrapping waits until the context is started, or until the first logging call, whichever
+     * comes first: reconfigurations by Spring Boot or by the Logback scanner do not start the context.
+     */
+    private static final class ResetListener extends ContextAwareBase implements LoggerContextListener {
+
+        private final int ringBufferSize;
+
+        private final Counter droppedEvents;
+
+        ResetListener(int ringBufferSize, Counter droppedEvents) {
+            this.ringBufferSize = ringBufferSize;
+            this.droppedEvents = droppedEvents;
+        }
+
+        @Override
+        public boolean isResetResistant() {
+            return true;
+        }
+
+        @Override
+        public void onStart(LoggerContext context) {
+            wrapRootAppenders(context, ringBufferSize, droppedEvents);
+        }
+
+        @Override
+        public void onReset(LoggerContext context) {
+            // The turbo filters were cleared by the reset, before this listener was called
+            WrapOnFirstEventFilter filter = new WrapOnFirstEventFilter(ringBufferSize, droppedEvents);
+            filter.setContext(context);
+            filter.start();
+            context.addTurboFilter(filter);
+        }
+
+        @Override
+        public void onStop(LoggerContext context) {
+            // Nothing to do
+        }
+
+        @Override
+        public void onLevelChange(Logger logger, Level level) {
+            // Nothing to do
+        }
+    }
+
+    /**
+     * Wraps the root appenders on the first logging call after a reset, then removes itself.
+     */
+    private static final class WrapOnFirstEventFilter extends TurboFilter {
+
+        private final AtomicBoolean pending = new AtomicBoolean(true);
+
+        private final int ringBufferSize;
+
+        private final Counter droppedEvents;
+
+        WrapOnFirstEventFilter(int ringBufferSize, Counter droppedEvents) {
+            this.ringBufferSize = ringBufferSize;
+            this.droppedEvents = droppedEvents;
+        }
+
+        @Override
+        public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+            if (pending.compareAndSet(true, false)) {
+                LoggerContext context = (LoggerContext) getContext();
+                context.getTurboFilterList().remove(this);
+                wrapRootAppenders(context, ringBufferSize, droppedEvents);
+            }
+            return FilterReply.NEUTRAL;
+        }
+    }
+}
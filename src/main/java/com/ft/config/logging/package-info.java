@@ -0,0 +1,4 @@
+/**
+ * Logging infrastructure: asynchronous appenders.
+ */
+package com.ft.config.logging;
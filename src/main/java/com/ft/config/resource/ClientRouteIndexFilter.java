@@ -0,0 +1,173 @@
+package com.ft.config.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Serves the client {@code index.html} for the routes of the client application, such as {@code /admin/user-management}.
+ * <p>
+ * This is the fast path of {@link com.ft.web.rest.ClientForwardController}: a request is a client route when it is
+ * not under one of the server paths, held in a trie, and its last segment contains no period. The page is read and
+ * compressed once, and served from memory with a strong ETag, so that reloads are answered with
+ * {@code 304 Not Modified}. Its Brotli variant is served when built with the webapp.
+ */
+public class ClientRouteIndexFilter extends OncePerRequestFilter {
+
+    private static final String[] SERVER_PATHS = {
+        "/api",
+        "/management",
+        "/websocket",
+        "/v2/api-docs",
+        "/v3/api-docs",
+        "/swagger-resources",
+        "/swagger-ui",
+        "/h2-console",
+        "/error",
+    };
+
+    private static final PathTrie SERVER_PATH_TRIE = new PathTrie(SERVER_PATHS);
+
+    private final Variant identity;
+
+    private final Variant gzip;
+
+    private final Variant brotli;
+
+    public ClientRouteIndexFilter(Resource index) throws IOException {
+        byte[] content = read(index);
+        String hash = DigestUtils.md5DigestAsHex(content);
+        this.identity = new Variant(content, "\"" + hash + "\"", null);
+        this.gzip = new Variant(gzip(content), "\"" + hash + "-gzip\"", "gzip");
+        Resource brotliIndex = index.createRelative(index.getFilename() + ".br");
+        this.brotli = brotliIndex.exists() ? new Variant(read(brotliIndex), "\"" + hash + "-br\"", "br") : null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+        return !isClientRoute(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    static boolean isClientRoute(String path) {
+        return path.indexOf('.', path.lastIndexOf('/') + 1) < 0 && !SERVER_PATH_TRIE.matchesPrefixOf(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws IOException {
+        Variant variant = select(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(variant.eTag)) {
+            return;
+        }
+        response.setContentType(MediaType.TEXT_HTML_VALUE + ";charset=UTF-8");
+        if (variant.encoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, variant.encoding);
+        }
+        response.setContentLength(variant.content.length);
+        if ("GET".equals(request.getMethod())) {
+            response.getOutputStream().write(variant.content);
+        }
+    }
+
+    private Variant select(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return identity;
+        }
+        if (brotli != null && acceptEncoding.contains("br")) {
+            return brotli;
+        }
+        return acceptEncoding.contains("gzip") ? gzip : identity;
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return StreamUtils.copyToByteArray(inputStream);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 2);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed)) {
+            gzipOutputStream.write(content);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static final class Variant {
+
+        private final byte[] content;
+
+        private final String eTag;
+
+        private final String encoding;
+
+        Variant(byte[] content, String eTag, String encoding) {
+            this.content = content;
+            this.eTag = eTag;
+            this.encoding = encoding;
+        }
+    }
+
+    /**
+     * Trie of path prefixes, by path segment.
+     */
+    static final class PathTrie {
+
+        private final Map<String, PathTrie> children = new HashMap<>();
+
+        private boolean terminal;
+
+        PathTrie(String... prefixes) {
+            for (String prefix : prefixes) {
+                PathTrie node = this;
+                for (String segment : prefix.substring(1).split("/")) {
+                    node = node.children.computeIfAbsent(segment, s -> new PathTrie());
+                }
+                node.terminal = true;
+            }
+        }
+
+        /**
+         * Whether one of the prefixes is made of the first segments of the given path.
+         */
+        boolean matchesPrefixOf(String path) {
+            PathTrie node = this;
+            int start = 1;
+            while (start <= path.length()) {
+                int end = path.indexOf('/', start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                node = node.children.get(path.substring(start, end));
+                if (node == null) {
+                    return false;
+                }
+                if (node.terminal) {
+                    return true;
+                }
+                start = end + 1;
+            }
+            return false;
+        }
+    }
+}
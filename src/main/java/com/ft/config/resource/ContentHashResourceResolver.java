@@ -0,0 +1,169 @@
+package com.ft.config.resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.servlet.http.HttpServletRequest;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.AbstractResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+/**
+ * Adds a strong ETag, the hash of its content, to each resolved resource.
+ * <p>
+ * The ETag is computed once per resolved resource, as resolutions are cached by the resource chain. Resources up to
+ * the given size are also kept in memory. Files whose name contains a content hash, such as the
+ * {@code main.0a1b2c3d4e5f6a7b8c9d.js} bundles, never change and get an immutable {@code Cache-Control} header.
+ * <p>
+ * The resolved resource may be a precompressed variant: each variant gets its own ETag.
+ */
+public class ContentHashResourceResolver extends AbstractResourceResolver {
+
+    private static final Pattern HASHED_FILENAME = Pattern.compile(".*[.-][0-9a-f]{16,}\\.[a-z0-9]+$");
+
+    private static final String IMMUTABLE_CACHE_CONTROL = CacheControl.maxAge(365, TimeUnit.DAYS)
+        .cachePublic()
+        .getHeaderValue() + ", immutable";
+
+    private final long maxInMemorySize;
+
+    public ContentHashResourceResolver(long maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+    }
+
+    @Override
+    protected Resource resolveResourceInternal(
+        HttpServletRequest request,
+        String requestPath,
+        List<? extends Resource> locations,
+        ResourceResolverChain chain
+    ) {
+        Resource resource = chain.resolveResource(request, requestPath, locations);
+        if (resource == null) {
+            return null;
+        }
+        try {
+            return new ContentHashResource(resource, maxInMemorySize);
+        } catch (IOException e) {
+            logger.debug("Could not hash " + resource + ", serving it without ETag", e);
+            return resource;
+        }
+    }
+
+    @Override
+    protected String resolveUrlPathInternal(String resourceUrlPath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return chain.resolveUrlPath(resourceUrlPath, locations);
+    }
+
+    static boolean isHashedFilename(String filename) {
+        return filename != null && HASHED_FILENAME.matcher(filename).matches();
+    }
+
+    /**
+     * A resolved resource, with its content hash as ETag, and its content when small enough.
+     */
+    static final class ContentHashResource extends AbstractResource implements HttpResource {
+
+        private final Resource resource;
+
+        private final byte[] content;
+
+        private final HttpHeaders headers = new HttpHeaders();
+
+        ContentHashResource(Resource resource, long maxInMemorySize) throws IOException {
+            this.resource = resource;
+            String hash;
+            if (resource.contentLength() <= maxInMemorySize) {
+                try (InputStream inputStream = resource.getInputStream()) {
+                    this.content = StreamUtils.copyToByteArray(inputStream);
+                }
+                hash = DigestUtils.md5DigestAsHex(content);
+            } else {
+                this.content = null;
+                try (InputStream inputStream = resource.getInputStream()) {
+                    hash = DigestUtils.md5DigestAsHex(inputStream);
+                }
+            }
+            if (resource instanceof HttpResource) {
+                // Such as the Content-Encoding of precompressed variants
+                headers.putAll(((HttpResource) resource).getResponseHeaders());
+            }
+            headers.setETag("\"" + hash + "\"");
+            if (isHashedFilename(resource.getFilename())) {
+                headers.setCacheControl(IMMUTABLE_CACHE_CONTROL);
+            }
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return content != null ? new ByteArrayInputStream(content) : resource.getInputStream();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return content != null ? content.length : resource.contentLength();
+        }
+
+        @Override
+        public boolean exists() {
+            return resource.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return resource.isReadable();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return resource.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return resource.getURI();
+        }
+
+        @Override
+        public File getFile() throws IOException {
+            return resource.getFile();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return resource.lastModified();
+        }
+
+        @Override
+        public Resource createRelative(String relativePath) throws IOException {
+            return resource.createRelative(relativePath);
+        }
+
+        @Override
+        public String getFilename() {
+            return resource.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return resource.getDescription();
+        }
+
+        @Override
+        public HttpHeaders getResponseHeaders() {
+            return headers;
+        }
+    }
+}
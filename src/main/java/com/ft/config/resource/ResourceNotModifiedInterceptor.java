@@ -0,0 +1,68 @@
+package com.ft.config.resource;
+
+import java.util.List;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+/**
+ * Answers {@code 304 Not Modified} to conditional requests for static resources whose ETag, set by the
+ * {@link ContentHashResourceResolver}, still matches.
+ * <p>
+ * The {@link ResourceHttpRequestHandler} only validates the last modification date, so the resource is resolved
+ * here first, through the same resolvers, which cache the resolution for the handler.
+ */
+public class ResourceNotModifiedInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof ResourceHttpRequestHandler)) {
+            return true;
+        }
+        ResourceHttpRequestHandler resourceHandler = (ResourceHttpRequestHandler) handler;
+        String path = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        if (path == null) {
+            return true;
+        }
+        Resource resource = new Chain(resourceHandler.getResourceResolvers(), 0)
+            .resolveResource(request, path, resourceHandler.getLocations());
+        if (!(resource instanceof HttpResource)) {
+            return true;
+        }
+        String eTag = ((HttpResource) resource).getResponseHeaders().getETag();
+        return eTag == null || !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+
+    private static final class Chain implements ResourceResolverChain {
+
+        private final List<ResourceResolver> resolvers;
+
+        private final int index;
+
+        Chain(List<ResourceResolver> resolvers, int index) {
+            this.resolvers = resolvers;
+            this.index = index;
+        }
+
+        @Override
+        public Resource resolveResource(HttpServletRequest request, String requestPath, List<? extends Resource> locations) {
+            return index < resolvers.size()
+                ? resolvers.get(index).resolveResource(request, requestPath, locations, new Chain(resolvers, index + 1))
+                : null;
+        }
+
+        @Override
+        public String resolveUrlPath(String resourcePath, List<? extends Resource> locations) {
+            return index < resolvers.size()
+                ? resolvers.get(index).resolveUrlPath(resourcePath, locations, new Chain(resolvers, index + 1))
+                : null;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Static resource serving: precompressed variants, content hash ETags and cache headers.
+ */
+package com.ft.config.resource;
@@ -0,0 +1,39 @@
+package com.ft.config.startup;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Marks some beans as lazy, so that they are created on first use instead of at startup.
+ * <p>
+ * Unlike {@code spring.main.lazy-initialization}, which defers every bean to the first request, only the given beans
+ * are deferred. A lazy bean is still created at startup when an eager bean depends on it, so it must be injected
+ * with {@link org.springframework.context.annotation.Lazy @Lazy} or through an
+ * {@link org.springframework.beans.factory.ObjectProvider}.
+ */
+public class SelectiveLazyInitialization implements BeanFactoryPostProcessor {
+
+    private final Logger log = LoggerFactory.getLogger(SelectiveLazyInitialization.class);
+
+    private final List<String> beanNames;
+
+    public SelectiveLazyInitialization(List<String> beanNames) {
+        this.beanNames = beanNames;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : beanNames) {
+            if (beanFactory.containsBeanDefinition(beanName)) {
+                beanFactory.getBeanDefinition(beanName).setLazyInit(true);
+                log.debug("Bean {} is created on first use", beanName);
+            } else {
+                // Beans of inactive profiles, such as springfox outside of the api-docs profile
+                log.debug("Bean {} is not defined, it is not made lazy", beanName);
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Startup infrastructure: deferred creation of the beans which are not needed to serve the first requests.
+ */
+package com.ft.config.startup;
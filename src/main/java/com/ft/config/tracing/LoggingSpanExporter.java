@@ -0,0 +1,25 @@
+package com.ft.config.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Logs each finished span at the INFO level, for use without a collector.
+ */
+public class LoggingSpanExporter implements SpanExporter {
+
+    private final Logger log = LoggerFactory.getLogger(LoggingSpanExporter.class);
+
+    @Override
+    public void export(Span span) {
+        log.info(
+            "trace={} span={} parent={} name={} duration={}us tags={}",
+            span.getTraceId(),
+            span.getSpanId(),
+            span.getParentId(),
+            span.getName(),
+            span.getDurationMicros(),
+            span.getTags()
+        );
+    }
+}
@@ -0,0 +1,137 @@
+package com.ft.config.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timed operation of a trace, started by {@link Tracer#startSpan(String)} and finished by {@link #close()}.
+ * <p>
+ * Spans of traces which are not sampled record nothing.
+ */
+public final class Span implements AutoCloseable {
+
+    /**
+     * Span returned inside traces which are not sampled.
+     */
+    static final Span NOOP = new Span(null, null, null, null, null, null);
+
+    private final Tracer tracer;
+
+    private final Span parent;
+
+    private final String traceId;
+
+    private final String spanId;
+
+    private final String parentId;
+
+    private String name;
+
+    private final long startMicros;
+
+    private final long startNanos;
+
+    private long durationNanos;
+
+    private Map<String, String> tags;
+
+    Span(Tracer tracer, Span parent, String traceId, String spanId, String parentId, String name) {
+        this.tracer = tracer;
+        this.parent = parent;
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.name = name;
+        this.startMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Add a tag to the span.
+     *
+     * @param key the key of the tag.
+     * @param value the value of the tag.
+     * @return this span.
+     */
+    public Span tag(String key, String value) {
+        if (isSampled()) {
+            if (tags == null) {
+                tags = new LinkedHashMap<>();
+            }
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * Rename the span, once a better name is known.
+     *
+     * @param name the new name of the span.
+     * @return this span.
+     */
+    public Span rename(String name) {
+        if (isSampled()) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    /**
+     * Mark the span as failed.
+     *
+     * @param e the failure.
+     * @return this span.
+     */
+    public Span error(Throwable e) {
+        return tag("error", e.getClass().getSimpleName());
+    }
+
+    /**
+     * Finish the span, its parent becomes the current span again.
+     */
+    @Override
+    public void close() {
+        if (tracer != null) {
+            durationNanos = System.nanoTime() - startNanos;
+            tracer.finish(this);
+        }
+    }
+
+    boolean isSampled() {
+        return traceId != null;
+    }
+
+    Span getParent() {
+        return parent;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getStartMicros() {
+        return startMicros;
+    }
+
+    public long getDurationMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(durationNanos);
+    }
+
+    public Map<String, String> getTags() {
+        return tags != null ? tags : Collections.emptyMap();
+    }
+}
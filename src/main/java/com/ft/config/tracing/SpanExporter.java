@@ -0,0 +1,14 @@
+package com.ft.config.tracing;
+
+/**
+ * Receives the finished spans of sampled traces.
+ */
+@FunctionalInterface
+public interface SpanExporter {
+    /**
+     * Export a finished span. Called on the thread which finished it, so implementations must not block.
+     *
+     * @param span the span.
+     */
+    void export(Span span);
+}
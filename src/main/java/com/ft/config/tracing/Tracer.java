@@ -0,0 +1,105 @@
+package com.ft.config.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts the spans of the current thread.
+ * <p>
+ * A span started without a current span is the root of a new trace, which is sampled at the configured rate. All
+ * the spans of a trace which is not sampled are no-ops, so an unsampled request only costs a thread local lookup per
+ * span. The current span is carried over to other threads by {@link #wrap(Runnable)}.
+ * <p>
+ * Typical use:
+ * <pre>
+ * try (Span span = tracer.startSpan("UserRepository.findOneByLogin")) {
+ *     ...
+ * }
+ * </pre>
+ */
+public class Tracer {
+
+    private final ThreadLocal<Span> current = new ThreadLocal<>();
+
+    private final double sampleRate;
+
+    private final SpanExporter exporter;
+
+    public Tracer(double sampleRate, SpanExporter exporter) {
+        this.sampleRate = sampleRate;
+        this.exporter = exporter;
+    }
+
+    /**
+     * Start a span, child of the current span if any, and make it the current span.
+     *
+     * @param name the name of the span.
+     * @return the span, to close once the operation is done.
+     */
+    public Span startSpan(String name) {
+        Span parent = current.get();
+        Span span;
+        if (parent == null) {
+            span = ThreadLocalRandom.current().nextDouble() < sampleRate
+                ? new Span(this, null, newId(), newId(), null, name)
+                // Not sampled, its children are no-ops
+                : new Span(this, null, null, null, null, name);
+        } else if (!parent.isSampled()) {
+            return Span.NOOP;
+        } else {
+            span = new Span(this, parent, parent.getTraceId(), newId(), parent.getSpanId(), name);
+        }
+        current.set(span);
+        return span;
+    }
+
+    /**
+     * Get the current span.
+     *
+     * @return the current span, or {@code null} if none.
+     */
+    public Span currentSpan() {
+        return current.get();
+    }
+
+    /**
+     * Wrap a task so that it runs with the span which is current now as its current span, usually on another thread.
+     *
+     * @param task the task.
+     * @return the wrapped task.
+     */
+    public Runnable wrap(Runnable task) {
+        Span span = current.get();
+        if (span == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = current.get();
+            current.set(span);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    void finish(Span span) {
+        restore(span.getParent());
+        if (span.isSampled()) {
+            exporter.export(span);
+        }
+    }
+
+    private void restore(Span span) {
+        if (span != null) {
+            current.set(span);
+        } else {
+            current.remove();
+        }
+    }
+
+    private static String newId() {
+        String id = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        return "0000000000000000".substring(id.length()) + id;
+    }
+}
@@ -0,0 +1,140 @@
+package com.ft.config.tracing;
+
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Decorates the caches of a {@link CacheManager} with a span for each read and write.
+ * <p>
+ * Cache metrics are not bound to the decorated caches, but to the caches of the {@link #getDelegate() delegate}.
+ */
+public class TracingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+
+    private final Tracer tracer;
+
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TracingCacheManager(CacheManager delegate, Tracer tracer) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache == null) {
+            Cache delegateCache = delegate.getCache(name);
+            if (delegateCache == null) {
+                return null;
+            }
+            cache = caches.computeIfAbsent(name, n -> new TracingCache(delegateCache, tracer));
+        }
+        return cache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    private static final class TracingCache implements Cache {
+
+        private final Cache delegate;
+
+        private final Tracer tracer;
+
+        TracingCache(Cache delegate, Tracer tracer) {
+            this.delegate = delegate;
+            this.tracer = tracer;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            try (Span span = startSpan("get")) {
+                ValueWrapper value = delegate.get(key);
+                span.tag("cache.hit", String.valueOf(value != null));
+                return value;
+            }
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            try (Span span = startSpan("get")) {
+                return delegate.get(key, type);
+            }
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            try (Span span = startSpan("get")) {
+                return delegate.get(key, valueLoader);
+            }
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            try (Span span = startSpan("put")) {
+                delegate.put(key, value);
+            }
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            try (Span span = startSpan("put")) {
+                return delegate.putIfAbsent(key, value);
+            }
+        }
+
+        @Override
+        public void evict(Object key) {
+            try (Span span = startSpan("evict")) {
+                delegate.evict(key);
+            }
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            try (Span span = startSpan("evict")) {
+                return delegate.evictIfPresent(key);
+            }
+        }
+
+        @Override
+        public void clear() {
+            try (Span span = startSpan("clear")) {
+                delegate.clear();
+            }
+        }
+
+        @Override
+        public boolean invalidate() {
+            try (Span span = startSpan("clear")) {
+                return delegate.invalidate();
+            }
+        }
+
+        private Span startSpan(String operation) {
+            return tracer.startSpan("cache." + operation).tag("cache.name", delegate.getName());
+        }
+    }
+}
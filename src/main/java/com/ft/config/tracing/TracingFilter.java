@@ -0,0 +1,44 @@
+package com.ft.config.tracing;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Starts the root span of each request, before the security filters, so that the time spent outside of the traced
+ * components, such as serializing the response, is the time of the root span not covered by its children.
+ * <p>
+ * The root span is named after the HTTP method, then after the matched handler pattern once it is known, such as
+ * {@code GET /api/users/{login}}, so that spans of the same endpoint are grouped regardless of their path variables.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        try (Span span = tracer.startSpan(request.getMethod())) {
+            try {
+                filterChain.doFilter(request, response);
+            } catch (IOException | ServletException | RuntimeException e) {
+                span.error(e);
+                throw e;
+            } finally {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (pattern != null) {
+                    span.rename(request.getMethod() + " " + pattern);
+                }
+            }
+            span.tag("http.status_code", String.valueOf(response.getStatus()));
+        }
+    }
+}
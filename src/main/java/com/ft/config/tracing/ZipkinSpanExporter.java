@@ -0,0 +1,133 @@
+package com.ft.config.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Sends the finished spans to a collector accepting the Zipkin v2 JSON format, such as Zipkin, Jaeger or the
+ * OpenTelemetry collector.
+ * <p>
+ * Spans are queued in a bounded queue and sent in batches from a single thread. When the queue is full, spans are
+ * dropped and counted in {@code tracing.spans.dropped}.
+ */
+public class ZipkinSpanExporter implements SpanExporter, DisposableBean {
+
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(ZipkinSpanExporter.class);
+
+    private final URI collectorUri;
+
+    private final String serviceName;
+
+    private final ObjectMapper mapper;
+
+    private final HttpClient httpClient;
+
+    private final BlockingQueue<Span> queue;
+
+    private final Counter droppedSpans;
+
+    private final ScheduledExecutorService executor;
+
+    public ZipkinSpanExporter(
+        URI collectorUri,
+        String serviceName,
+        ObjectMapper mapper,
+        int queueSize,
+        Duration exportInterval,
+        MeterRegistry meterRegistry
+    ) {
+        this.collectorUri = collectorUri;
+        this.serviceName = serviceName;
+        this.mapper = mapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.droppedSpans = Counter
+            .builder("tracing.spans.dropped")
+            .description("Spans dropped because the export queue was full")
+            .register(meterRegistry);
+        this.executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("span-export-"));
+        executor.scheduleWithFixedDelay(this::send, exportInterval.toMillis(), exportInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void export(Span span) {
+        if (!queue.offer(span)) {
+            droppedSpans.increment();
+        }
+    }
+
+    private void send() {
+        List<Span> spans = new ArrayList<>();
+        while (queue.drainTo(spans, MAX_BATCH_SIZE) > 0) {
+            try {
+                HttpRequest request = HttpRequest
+                    .newBuilder(collectorUri)
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(toZipkin(spans))))
+                    .build();
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 300) {
+                    log.debug("Collector refused {} spans with status {}", spans.size(), response.statusCode());
+                }
+            } catch (JsonProcessingException e) {
+                log.warn("Could not serialize {} spans: {}", spans.size(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.debug("Could not send {} spans to {}: {}", spans.size(), collectorUri, e.getMessage());
+            }
+            spans.clear();
+        }
+    }
+
+    private List<Map<String, Object>> toZipkin(List<Span> spans) {
+        Map<String, Object> localEndpoint = Map.of("serviceName", serviceName);
+        List<Map<String, Object>> zipkinSpans = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            Map<String, Object> zipkinSpan = new LinkedHashMap<>();
+            zipkinSpan.put("traceId", span.getTraceId());
+            zipkinSpan.put("id", span.getSpanId());
+            if (span.getParentId() != null) {
+                zipkinSpan.put("parentId", span.getParentId());
+            }
+            zipkinSpan.put("name", span.getName());
+            zipkinSpan.put("timestamp", span.getStartMicros());
+            zipkinSpan.put("duration", Math.max(1, span.getDurationMicros()));
+            zipkinSpan.put("localEndpoint", localEndpoint);
+            zipkinSpan.put("tags", span.getTags());
+            zipkinSpans.add(zipkinSpan);
+        }
+        return zipkinSpans;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        // Send what is left, the scheduled sends being cancelled
+        send();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * In-process tracing: spans, sampling and span exporters.
+ */
+package com.ft.config.tracing;
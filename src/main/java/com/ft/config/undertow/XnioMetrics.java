@@ -0,0 +1,107 @@
+package com.ft.config.undertow;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Exports the state of the XNIO workers and listeners of Undertow.
+ * <p>
+ * XNIO registers one MXBean per worker and one per listening address in the platform MBean server. Once the web
+ * server is started, they are exported as gauges: the {@code undertow.worker.*} ones tagged with the worker name, and
+ * the {@code undertow.connections.*} ones tagged with the listening address. A gauge reads NaN once its MXBean is
+ * unregistered.
+ */
+public class XnioMetrics implements ApplicationListener<WebServerInitializedEvent> {
+
+    private static final String DOMAIN_PATTERN = "org.xnio:type=Xnio,*";
+
+    private final Logger log = LoggerFactory.getLogger(XnioMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final MBeanServer mBeanServer;
+
+    public XnioMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, ManagementFactory.getPlatformMBeanServer());
+    }
+
+    XnioMetrics(MeterRegistry meterRegistry, MBeanServer mBeanServer) {
+        this.meterRegistry = meterRegistry;
+        this.mBeanServer = mBeanServer;
+    }
+
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        bind();
+    }
+
+    void bind() {
+        try {
+            for (ObjectName name : mBeanServer.queryNames(new ObjectName(DOMAIN_PATTERN), null)) {
+                if (name.getKeyProperty("worker") == null) {
+                    continue;
+                }
+                String worker = keyProperty(name, "worker");
+                if (name.getKeyProperty("address") == null) {
+                    bindWorker(name, worker);
+                } else {
+                    bindListener(name, worker, keyProperty(name, "address"));
+                }
+            }
+        } catch (MalformedObjectNameException e) {
+            log.warn("Could not export the Undertow worker metrics: {}", e.getMessage());
+        }
+    }
+
+    private void bindWorker(ObjectName name, String worker) {
+        gauge("undertow.worker.queue.size", "Tasks waiting for a worker thread", name, "WorkerQueueSize", "worker", worker);
+        gauge("undertow.worker.threads.busy", "Worker threads running a task", name, "BusyWorkerThreadCount", "worker", worker);
+        gauge("undertow.worker.threads", "Worker threads started", name, "WorkerPoolSize", "worker", worker);
+        gauge("undertow.worker.threads.max", "Maximum number of worker threads", name, "MaxWorkerPoolSize", "worker", worker);
+        gauge("undertow.io.threads", "IO threads of the worker", name, "IoThreadCount", "worker", worker);
+    }
+
+    private void bindListener(ObjectName name, String worker, String address) {
+        gauge("undertow.connections.active", "Open connections of the listener", name, "ConnectionCount", "address", address);
+        gauge(
+            "undertow.connections.max",
+            "Connections above which the listener stops accepting",
+            name,
+            "ConnectionLimitHighWater",
+            "address",
+            address
+        );
+        log.debug("Exporting the connections of {} on worker {}", address, worker);
+    }
+
+    private void gauge(String meter, String description, ObjectName name, String attribute, String tagKey, String tagValue) {
+        Gauge
+            .builder(meter, mBeanServer, server -> read(server, name, attribute))
+            .description(description)
+            .tag(tagKey, tagValue)
+            .register(meterRegistry);
+    }
+
+    private static String keyProperty(ObjectName name, String key) {
+        String value = name.getKeyProperty(key);
+        return value.startsWith("\"") ? ObjectName.unquote(value) : value;
+    }
+
+    private static double read(MBeanServer server, ObjectName name, String attribute) {
+        try {
+            Object value = server.getAttribute(name, attribute);
+            return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+        } catch (JMException | RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+}
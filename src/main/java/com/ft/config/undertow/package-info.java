@@ -0,0 +1,4 @@
+/**
+ * Undertow instrumentation: worker threads, queued tasks and connections.
+ */
+package com.ft.config.undertow;
@@ -0,0 +1,102 @@
+package com.ft.repository;
+
+import com.ft.config.ApplicationProperties;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup check of the execution plans of the {@link UserRepository} lookups.
+ * <p>
+ * Once the application is ready, the SQL equivalent of each lookup is explained, and a warning is logged for each
+ * full table scan over more rows than configured. Only MySQL and MariaDB plans are checked.
+ */
+@Component
+public class UserQueryPlanCheck {
+
+    private static final Map<String, String> QUERIES = new LinkedHashMap<>();
+
+    static {
+        QUERIES.put("findOneByLogin", "select id from jhi_user where login = 'system'");
+        QUERIES.put("findOneByActivationKey", "select id from jhi_user where activation_key = '00000000000000000000'");
+        QUERIES.put("findOneByResetKey", "select id from jhi_user where reset_key = '00000000000000000000'");
+        QUERIES.put(
+            "findNotActivatedUsersCreatedBefore",
+            "select id, login, email from jhi_user where activated = false and activation_key is not null" +
+            " and created_date < now() - interval 3 day order by created_date limit 500"
+        );
+    }
+
+    private final Logger log = LoggerFactory.getLogger(UserQueryPlanCheck.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ApplicationProperties.QueryPlanCheck properties;
+
+    public UserQueryPlanCheck(JdbcTemplate jdbcTemplate, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = applicationProperties.getQueryPlanCheck();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkQueryPlans() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            jdbcTemplate.execute(
+                (ConnectionCallback<Void>) connection -> {
+                    String databaseProduct = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ENGLISH);
+                    if (!databaseProduct.contains("mysql") && !databaseProduct.contains("mariadb")) {
+                        log.debug("Query plans are not checked on {}", databaseProduct);
+                        return null;
+                    }
+                    for (Map.Entry<String, String> query : QUERIES.entrySet()) {
+                        explain(connection, query.getKey(), query.getValue());
+                    }
+                    return null;
+                }
+            );
+        } catch (DataAccessException e) {
+            log.warn("Could not check the query plans of UserRepository: {}", e.getMessage());
+        }
+    }
+
+    private void explain(Connection connection, String method, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet plan = statement.executeQuery("explain " + sql)) {
+            while (plan.next()) {
+                String accessType = plan.getString("type");
+                long rows = plan.getLong("rows");
+                if ("ALL".equalsIgnoreCase(accessType) && rows >= properties.getMinRows()) {
+                    log.warn(
+                        "UserRepository.{} does a full scan of {} over about {} rows, check the indexes of: {}",
+                        method,
+                        plan.getString("table"),
+                        rows,
+                        sql
+                    );
+                } else {
+                    log.debug(
+                        "UserRepository.{} uses {} access on {} with key {}",
+                        method,
+                        accessType,
+                        plan.getString("table"),
+                        plan.getString("key")
+                    );
+                }
+            }
+        }
+    }
+}
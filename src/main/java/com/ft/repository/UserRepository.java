@@ -9,6 +9,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -22,7 +24,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findOneByActivationKey(String activationKey);
 
-    List<User> findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant dateTime);
+    /**
+     * Ordered by creation date, the order of the {@code (activated, created_date, activation_key)} index, so that a page
+     * is read from the start of the index range without sorting all the matching rows.
+     */
+    @Query(
+        "select u.id as id, u.login as login, u.email as email from User u where u.activated = false and u.activationKey is not null" +
+        " and u.createdDate < :dateTime order by u.createdDate"
+    )
+    List<UserIdentity> findNotActivatedUsersCreatedBefore(@Param("dateTime") Instant dateTime, Pageable pageable);
 
     Optional<User> findOneByResetKey(String resetKey);
 
@@ -38,5 +48,57 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Cacheable(cacheNames = USERS_BY_EMAIL_CACHE)
     Optional<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
-    Page<User> findAllByIdNotNullAndActivatedIsTrue(Pageable pageable);
+    /**
+     * Public users are read as {@link PublicUser} projections: only the public columns are selected, and the rows are
+     * neither managed by the persistence context nor put in the second-level cache.
+     */
+    @Query(
+        value = "select u.id as id, u.login as login from User u where u.activated = true",
+        countQuery = "select count(u) from User u where u.activated = true"
+    )
+    Page<PublicUser> findAllPublicUsers(Pageable pageable);
+
+    @Query("select u.id as id, u.login as login from User u where u.activated = true and u.id > :id order by u.id asc")
+    List<PublicUser> findAllPublicUsersByIdGreaterThan(@Param("id") Long id, Pageable pageable);
+
+    @Query("select u.id as id, u.login as login from User u where u.activated = true and u.id < :id order by u.id desc")
+    List<PublicUser> findAllPublicUsersByIdLessThan(@Param("id") Long id, Pageable pageable);
+
+    List<User> findAllByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<User> findAllByIdLessThanOrderByIdDesc(Long id, Pageable pageable);
+
+    long countByActivatedIsTrue();
+
+    @Query("select u.id as id, u.lastModifiedDate as lastModifiedDate from User u where u.login = :login")
+    Optional<UserVersion> findVersionByLogin(@Param("login") String login);
+
+    /**
+     * Projection on the public columns of a user.
+     */
+    interface PublicUser {
+        Long getId();
+
+        String getLogin();
+    }
+
+    /**
+     * Projection on the keys a user is identified by, in the database and in the caches.
+     */
+    interface UserIdentity {
+        Long getId();
+
+        String getLogin();
+
+        String getEmail();
+    }
+
+    /**
+     * Projection on the version of a user: its last modification date changes with every update of the user.
+     */
+    interface UserVersion {
+        Long getId();
+
+        Instant getLastModifiedDate();
+    }
 }
@@ -0,0 +1,42 @@
+package com.ft.repository.search;
+
+import java.util.List;
+
+/**
+ * Hits of a bounded search, see {@link UserSearchRepositoryInternal#searchBounded}.
+ * <p>
+ * The hits are partial when the search timed out, or when a shard stopped collecting after {@code terminate_after}
+ * matching documents.
+ *
+ * @param <T> the type of the hits.
+ */
+public final class BoundedSearchHits<T> {
+
+    private final List<T> hits;
+
+    private final boolean timedOut;
+
+    private final boolean terminatedEarly;
+
+    public BoundedSearchHits(List<T> hits, boolean timedOut, boolean terminatedEarly) {
+        this.hits = hits;
+        this.timedOut = timedOut;
+        this.terminatedEarly = terminatedEarly;
+    }
+
+    public List<T> getHits() {
+        return hits;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public boolean isTerminatedEarly() {
+        return terminatedEarly;
+    }
+
+    public boolean isPartial() {
+        return timedOut || terminatedEarly;
+    }
+}
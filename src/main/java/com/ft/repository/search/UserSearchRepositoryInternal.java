@@ -0,0 +1,32 @@
+package com.ft.repository.search;
+
+import com.ft.domain.User;
+import java.time.Duration;
+import java.util.Collection;
+import org.elasticsearch.index.query.QueryBuilder;
+
+/**
+ * Custom search operations for the {@link UserSearchRepository}.
+ */
+public interface UserSearchRepositoryInternal {
+    /**
+     * Run a bounded search: the request is cut at the given timeout, and each shard stops collecting
+     * after {@code terminateAfter} matching documents, so a single expensive query cannot monopolize the cluster.
+     *
+     * @param query the query to run.
+     * @param from the offset of the first user to return.
+     * @param size the maximum number of users to return.
+     * @param timeout the search timeout.
+     * @param terminateAfter the maximum number of documents to collect per shard.
+     * @param statsGroup the statistics group the request is reported under by Elasticsearch.
+     * @return the matching users, partial if the timeout or the {@code terminateAfter} bound was reached.
+     */
+    BoundedSearchHits<User> searchBounded(QueryBuilder query, int from, int size, Duration timeout, int terminateAfter, String statsGroup);
+
+    /**
+     * Delete users with a single bulk request, and refresh the index before returning.
+     *
+     * @param ids the ids of the users to delete, unknown ids are ignored.
+     */
+    void deleteInBulk(Collection<Long> ids);
+}
@@ -0,0 +1,103 @@
+package com.ft.repository.search;
+
+import com.ft.domain.User;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+
+/**
+ * Implementation of {@link UserSearchRepositoryInternal} on top of the low level REST client, as Spring Data
+ * does not expose {@code terminate_after} nor statistics groups.
+ */
+class UserSearchRepositoryInternalImpl implements UserSearchRepositoryInternal {
+
+    private final Logger log = LoggerFactory.getLogger(UserSearchRepositoryInternalImpl.class);
+
+    private final RestHighLevelClient client;
+
+    private final ElasticsearchOperations operations;
+
+    UserSearchRepositoryInternalImpl(RestHighLevelClient client, ElasticsearchOperations operations) {
+        this.client = client;
+        this.operations = operations;
+    }
+
+    @Override
+    public BoundedSearchHits<User> searchBounded(
+        QueryBuilder query,
+        int from,
+        int size,
+        Duration timeout,
+        int terminateAfter,
+        String statsGroup
+    ) {
+        SearchSourceBuilder source = new SearchSourceBuilder()
+            .query(query)
+            .from(from)
+            .size(size)
+            .timeout(TimeValue.timeValueMillis(timeout.toMillis()))
+            .terminateAfter(terminateAfter)
+            .stats(Collections.singletonList(statsGroup));
+        SearchRequest request = new SearchRequest(operations.getIndexCoordinatesFor(User.class).getIndexNames()).source(source);
+        SearchResponse response;
+        try {
+            response = client.search(request, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Error while searching users", e);
+        }
+        boolean terminatedEarly = Boolean.TRUE.equals(response.isTerminatedEarly());
+        if (response.isTimedOut()) {
+            log.debug("User search timed out after {}, returning partial results", timeout);
+        } else if (terminatedEarly) {
+            log.debug("User search terminated after {} documents per shard, returning partial results", terminateAfter);
+        }
+        List<User> users = new ArrayList<>(response.getHits().getHits().length);
+        for (SearchHit hit : response.getHits()) {
+            Document document = Document.from(hit.getSourceAsMap());
+            document.setId(hit.getId());
+            users.add(operations.getElasticsearchConverter().read(User.class, document));
+        }
+        return new BoundedSearchHits<>(users, response.isTimedOut(), terminatedEarly);
+    }
+
+    @Override
+    public void deleteInBulk(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String indexName = operations.getIndexCoordinatesFor(User.class).getIndexName();
+        BulkRequest request = new BulkRequest().setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        for (Long id : ids) {
+            request.add(new DeleteRequest(indexName, id.toString()));
+        }
+        BulkResponse response;
+        try {
+            response = client.bulk(request, RequestOptions.DEFAULT);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Error while deleting users", e);
+        }
+        if (response.hasFailures()) {
+            log.warn("Some users could not be deleted from the index: {}", response.buildFailureMessage());
+        }
+    }
+}
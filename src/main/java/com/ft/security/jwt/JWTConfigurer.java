@@ -1,5 +1,6 @@
 package com.ft.security.jwt;
 
+import com.ft.config.tracing.Tracer;
 import org.springframework.security.config.annotation.SecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.DefaultSecurityFilterChain;
@@ -9,13 +10,16 @@ public class JWTConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilt
 
     private final TokenProvider tokenProvider;
 
-    public JWTConfigurer(TokenProvider tokenProvider) {
+    private final Tracer tracer;
+
+    public JWTConfigurer(TokenProvider tokenProvider, Tracer tracer) {
         this.tokenProvider = tokenProvider;
+        this.tracer = tracer;
     }
 
     @Override
     public void configure(HttpSecurity http) {
-        JWTFilter customFilter = new JWTFilter(tokenProvider);
+        JWTFilter customFilter = new JWTFilter(tokenProvider, tracer);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
     }
 }
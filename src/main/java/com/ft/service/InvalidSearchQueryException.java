@@ -0,0 +1,13 @@
+package com.ft.service;
+
+/**
+ * Thrown when a user search query is empty, too long, or uses a syntax which is not allowed.
+ */
+public class InvalidSearchQueryException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
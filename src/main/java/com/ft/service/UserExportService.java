@@ -0,0 +1,236 @@
+package com.ft.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ft.config.ApplicationProperties;
+import com.ft.service.dto.AdminUserDTO;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service class for exporting all users.
+ * <p>
+ * Users are read with plain JDBC, through a forward-only, read-only cursor, and each user is written to the output
+ * as soon as its rows have been read: the export runs in constant memory, whatever the number of users.
+ */
+@Service
+public class UserExportService {
+
+    private static final String EXPORT_QUERY =
+        "select u.id, u.login, u.first_name, u.last_name, u.email, u.image_url, u.activated, u.lang_key," +
+        " u.created_by, u.created_date, u.last_modified_by, u.last_modified_date, ua.authority_name" +
+        " from jhi_user u left outer join jhi_user_authority ua on ua.user_id = u.id order by u.id, ua.authority_name";
+
+    static final String CSV_HEADER =
+        "id,login,firstName,lastName,email,imageUrl,activated,langKey,createdBy,createdDate,lastModifiedBy,lastModifiedDate,authorities";
+
+    private final Logger log = LoggerFactory.getLogger(UserExportService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectWriter userWriter;
+
+    private final ApplicationProperties.Export exportProperties;
+
+    public UserExportService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Flushing after each user would send one network packet per user
+        this.userWriter = objectMapper.writerFor(AdminUserDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.exportProperties = applicationProperties.getExport();
+    }
+
+    /**
+     * Write all users, ordered by id, with their authorities.
+     *
+     * @param format the output format.
+     * @param out the stream to write to, it is flushed but not closed.
+     * @return the number of exported users.
+     * @throws IOException if the output cannot be written.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(UserFileFormat format, OutputStream out) throws IOException {
+        log.debug("Exporting all users as {}", format);
+        UserSink sink = format == UserFileFormat.CSV ? new CsvUserSink(out) : new JsonUserSink(out, userWriter);
+        UserRowCallbackHandler handler = new UserRowCallbackHandler(sink);
+        try {
+            jdbcTemplate.query(this::prepareExportStatement, handler);
+            handler.complete();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        sink.flush();
+        log.debug("Exported {} users", handler.count);
+        return handler.count;
+    }
+
+    private PreparedStatement prepareExportStatement(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        if (connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ENGLISH).contains("mysql")) {
+            // MySQL Connector/J only streams rows one by one with this fetch size, otherwise it reads the whole result.
+            statement.setFetchSize(Integer.MIN_VALUE);
+        } else {
+            statement.setFetchSize(exportProperties.getFetchSize());
+        }
+        return statement;
+    }
+
+    /**
+     * Folds the rows of the join into users: rows are ordered by user id, so a user is complete as soon as a row of
+     * the next one is read.
+     */
+    private static final class UserRowCallbackHandler implements RowCallbackHandler {
+
+        private final UserSink sink;
+
+        private AdminUserDTO current;
+
+        private long count;
+
+        UserRowCallbackHandler(UserSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (current == null || current.getId() != id) {
+                complete();
+                current = new AdminUserDTO();
+                current.setId(id);
+                current.setLogin(rs.getString("login"));
+                current.setFirstName(rs.getString("first_name"));
+                current.setLastName(rs.getString("last_name"));
+                current.setEmail(rs.getString("email"));
+                current.setImageUrl(rs.getString("image_url"));
+                current.setActivated(rs.getBoolean("activated"));
+                current.setLangKey(rs.getString("lang_key"));
+                current.setCreatedBy(rs.getString("created_by"));
+                current.setCreatedDate(toInstant(rs.getTimestamp("created_date")));
+                current.setLastModifiedBy(rs.getString("last_modified_by"));
+                current.setLastModifiedDate(toInstant(rs.getTimestamp("last_modified_date")));
+                current.setAuthorities(new LinkedHashSet<>());
+            }
+            String authority = rs.getString("authority_name");
+            if (authority != null) {
+                current.getAuthorities().add(authority);
+            }
+        }
+
+        void complete() {
+            if (current == null) {
+                return;
+            }
+            try {
+                sink.write(current);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            current = null;
+            count++;
+        }
+
+        private static Instant toInstant(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toInstant() : null;
+        }
+    }
+
+    private interface UserSink {
+        void write(AdminUserDTO user) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static final class JsonUserSink implements UserSink {
+
+        private final JsonGenerator generator;
+
+        private final ObjectWriter writer;
+
+        JsonUserSink(OutputStream out, ObjectWriter writer) throws IOException {
+            this.generator = writer.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(AdminUserDTO user) throws IOException {
+            writer.writeValue(generator, user);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvUserSink implements UserSink {
+
+        private final Writer writer;
+
+        CsvUserSink(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(AdminUserDTO user) throws IOException {
+            writer.write(String.valueOf(user.getId()));
+            writeField(user.getLogin());
+            writeField(user.getFirstName());
+            writeField(user.getLastName());
+            writeField(user.getEmail());
+            writeField(user.getImageUrl());
+            writeField(String.valueOf(user.isActivated()));
+            writeField(user.getLangKey());
+            writeField(user.getCreatedBy());
+            writeField(user.getCreatedDate() != null ? user.getCreatedDate().toString() : null);
+            writeField(user.getLastModifiedBy());
+            writeField(user.getLastModifiedDate() != null ? user.getLastModifiedDate().toString() : null);
+            writeField(String.join(UserFileFormat.CSV_AUTHORITY_SEPARATOR, user.getAuthorities()));
+            writer.write('\n');
+        }
+
+        private void writeField(String value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            // User controlled values, such as the names, must not run as formulas in the spreadsheet of an admin
+            value = UserFileFormat.escapeCsvFormula(value);
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ft.service;
+
+/**
+ * File formats of the user export and import.
+ */
+public enum UserFileFormat {
+    /**
+     * One JSON user per line.
+     */
+    NDJSON("application/x-ndjson"),
+    /**
+     * Comma separated values, with a header line and the authorities separated by {@code |}.
+     */
+    CSV("text/csv");
+
+    /**
+     * Separator of the authorities in the CSV format.
+     */
+    public static final String CSV_AUTHORITY_SEPARATOR = "|";
+
+    /**
+     * Prefix of the CSV values which a spreadsheet would otherwise evaluate as a formula, removed by the import.
+     */
+    public static final char CSV_FORMULA_ESCAPE = '\'';
+
+    /**
+     * Leading characters of the CSV values exported behind the {@link #CSV_FORMULA_ESCAPE}: the ones which start a
+     * formula, and the escape itself so that escaped values are imported back unchanged.
+     */
+    private static final String CSV_ESCAPED_CHARACTERS = "=+-@\t\r" + CSV_FORMULA_ESCAPE;
+
+    /**
+     * Neutralize a CSV value which a spreadsheet would evaluate as a formula.
+     *
+     * @param value the value to export.
+     * @return the value, behind the {@link #CSV_FORMULA_ESCAPE} if it starts a formula.
+     */
+    public static String escapeCsvFormula(String value) {
+        if (value.isEmpty() || CSV_ESCAPED_CHARACTERS.indexOf(value.charAt(0)) < 0) {
+            return value;
+        }
+        return CSV_FORMULA_ESCAPE + value;
+    }
+
+    /**
+     * Remove the {@link #CSV_FORMULA_ESCAPE} added by {@link #escapeCsvFormula(String)}.
+     *
+     * @param value the imported value.
+     * @return the value, without the escape.
+     */
+    public static String unescapeCsvFormula(String value) {
+        if (value.length() < 2 || value.charAt(0) != CSV_FORMULA_ESCAPE || CSV_ESCAPED_CHARACTERS.indexOf(value.charAt(1)) < 0) {
+            return value;
+        }
+        return value.substring(1);
+    }
+
+    private final String contentType;
+
+    UserFileFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+}
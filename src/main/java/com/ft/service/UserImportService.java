@@ -0,0 +1,525 @@
+package com.ft.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.ft.config.ApplicationProperties;
+import com.ft.config.Constants;
+import com.ft.domain.Authority;
+import com.ft.domain.User;
+import com.ft.repository.AuthorityRepository;
+import com.ft.repository.UserRepository;
+import com.ft.repository.search.UserSearchRepository;
+import com.ft.security.SecurityUtils;
+import com.ft.service.dto.ImportedUserDTO;
+import com.ft.service.dto.UserImportResult;
+import com.ft.service.search.SearchIndexVersion;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.security.RandomUtil;
+
+/**
+ * Service class for importing users in bulk.
+ * <p>
+ * The input is read in chunks. For each chunk, passwords are hashed in parallel on a dedicated pool, sized from the
+ * available processors, so that imports neither wait behind nor delay the tasks of the shared task executor, such as
+ * the mails. Users and their authorities are inserted with batched JDBC statements in one transaction, and the new
+ * users are then indexed in Elasticsearch with one bulk request.
+ */
+@Service
+public class UserImportService implements DisposableBean {
+
+    private static final String INSERT_USER_SQL =
+        "insert into jhi_user (login, password_hash, first_name, last_name, email, image_url, activated, lang_key," +
+        " reset_key, reset_date, created_by, created_date, last_modified_by, last_modified_date)" +
+        " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_USER_AUTHORITY_SQL = "insert into jhi_user_authority (user_id, authority_name) values (?, ?)";
+
+    private final Logger log = LoggerFactory.getLogger(UserImportService.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ObjectReader userReader;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final Validator validator;
+
+    private final AuthorityRepository authorityRepository;
+
+    private final UserSearchRepository userSearchRepository;
+
+    private final SearchIndexVersion userSearchIndexVersion;
+
+    private final CacheManager cacheManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService hashingExecutor;
+
+    private final int chunkSize;
+
+    private final int hashingParallelism;
+
+    private final int batchSize;
+
+    public UserImportService(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        ObjectMapper objectMapper,
+        PasswordEncoder passwordEncoder,
+        Validator validator,
+        AuthorityRepository authorityRepository,
+        @Lazy UserSearchRepository userSearchRepository,
+        SearchIndexVersion userSearchIndexVersion,
+        CacheManager cacheManager,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userReader = objectMapper.readerFor(ImportedUserDTO.class);
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.authorityRepository = authorityRepository;
+        this.userSearchRepository = userSearchRepository;
+        this.userSearchIndexVersion = userSearchIndexVersion;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = applicationProperties.getBulkImport().getChunkSize();
+        this.hashingParallelism = Math.max(1, applicationProperties.getBulkImport().getHashingParallelism());
+        // Idle threads time out, as imports are rare
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            hashingParallelism,
+            hashingParallelism,
+            1,
+            TimeUnit.MINUTES,
+            new LinkedBlockingQueue<>(),
+            new CustomizableThreadFactory("user-import-hash-")
+        );
+        executor.allowCoreThreadTimeOut(true);
+        this.hashingExecutor = executor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Import users.
+     * <p>
+     * Invalid users, and users whose login or email is already used, are rejected; the other users are imported.
+     * Users without a password get a random one, and a reset key. Unknown authorities are ignored.
+     *
+     * @param format the input format.
+     * @param in the input, it is not closed.
+     * @return the outcome of the import.
+     * @throws IOException if the input cannot be read.
+     */
+    public UserImportResult importUsers(UserFileFormat format, InputStream in) throws IOException {
+        log.debug("Importing users as {}", format);
+        Map<String, Authority> authorities = authorityRepository
+            .findAll()
+            .stream()
+            .collect(Collectors.toMap(Authority::getName, Function.identity()));
+        String importedBy = SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        UserRecordReader records = format == UserFileFormat.CSV ? new CsvUserRecordReader(reader) : new JsonUserRecordReader(reader);
+        UserImportResult result = new UserImportResult();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ImportRow row;
+        while ((row = records.next(result)) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, authorities, importedBy, result);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, authorities, importedBy, result);
+        }
+        log.debug("Imported users: {}", result);
+        return result;
+    }
+
+    private void importChunk(List<ImportRow> chunk, Map<String, Authority> authorities, String importedBy, UserImportResult result) {
+        List<ImportRow> rows = validate(chunk, result);
+        if (rows.isEmpty()) {
+            return;
+        }
+        hashPasswords(rows);
+
+        List<User> users;
+        try {
+            users = transactionTemplate.execute(status -> insert(rows, authorities, importedBy));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent write used the same login or email, the whole chunk was rolled back
+            log.warn("Could not import a chunk of {} users: {}", rows.size(), e.getMessage());
+            rows.forEach(row -> result.reject(row.line, row.user.getLogin(), "Login or email already used"));
+            return;
+        }
+        userSearchRepository.saveAll(users);
+        userSearchIndexVersion.increment();
+        Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+        Cache usersByEmail = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE));
+        for (User user : users) {
+            usersByLogin.evict(user.getLogin());
+            if (user.getEmail() != null) {
+                usersByEmail.evict(user.getEmail());
+            }
+        }
+        result.addImported(users.size());
+    }
+
+    /**
+     * Hash the passwords of a chunk in slices, one per thread of the hashing pool.
+     */
+    private void hashPasswords(List<ImportRow> rows) {
+        int slices = Math.max(1, Math.min(hashingParallelism, rows.size()));
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[slices];
+        for (int slice = 0; slice < slices; slice++) {
+            List<ImportRow> sliceRows = rows.subList(slice * rows.size() / slices, (slice + 1) * rows.size() / slices);
+            futures[slice] = CompletableFuture.runAsync(() -> sliceRows.forEach(this::hashPassword), hashingExecutor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    private void hashPassword(ImportRow row) {
+        String password = row.user.getPassword() != null ? row.user.getPassword() : RandomUtil.generatePassword();
+        row.passwordHash = passwordEncoder.encode(password);
+    }
+
+    @Override
+    public void destroy() {
+        hashingExecutor.shutdown();
+    }
+
+    private List<ImportRow> validate(List<ImportRow> chunk, UserImportResult result) {
+        Set<String> logins = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            ImportedUserDTO user = row.user;
+            Set<ConstraintViolation<ImportedUserDTO>> violations = validator.validate(user);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<ImportedUserDTO> violation = violations.iterator().next();
+                result.reject(row.line, user.getLogin(), violation.getPropertyPath() + " " + violation.getMessage());
+                continue;
+            }
+            user.setLogin(user.getLogin().toLowerCase());
+            if (user.getEmail() != null) {
+                user.setEmail(user.getEmail().toLowerCase());
+            }
+            if (!logins.add(user.getLogin())) {
+                result.reject(row.line, user.getLogin(), "Login already used");
+                continue;
+            }
+            if (user.getEmail() != null && !emails.add(user.getEmail())) {
+                result.reject(row.line, user.getLogin(), "Email already used");
+                continue;
+            }
+            rows.add(row);
+        }
+        if (rows.isEmpty()) {
+            return rows;
+        }
+
+        Set<String> existingLogins = new HashSet<>(
+            jdbcTemplate.queryForList("select login from jhi_user where login in (:values)", inValues(logins), String.class)
+        );
+        Set<String> existingEmails = emails.isEmpty()
+            ? Set.of()
+            : new HashSet<>(
+                jdbcTemplate.queryForList("select email from jhi_user where email in (:values)", inValues(emails), String.class)
+            );
+        List<ImportRow> newRows = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existingLogins.contains(row.user.getLogin())) {
+                result.reject(row.line, row.user.getLogin(), "Login already used");
+            } else if (row.user.getEmail() != null && existingEmails.contains(row.user.getEmail())) {
+                result.reject(row.line, row.user.getLogin(), "Email already used");
+            } else {
+                newRows.add(row);
+            }
+        }
+        return newRows;
+    }
+
+    private List<User> insert(List<ImportRow> rows, Map<String, Authority> authorities, String importedBy) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<User> users = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            ImportedUserDTO userDTO = row.user;
+            User user = new User();
+            user.setLogin(userDTO.getLogin());
+            user.setPassword(row.passwordHash);
+            user.setFirstName(userDTO.getFirstName());
+            user.setLastName(userDTO.getLastName());
+            user.setEmail(userDTO.getEmail());
+            user.setImageUrl(userDTO.getImageUrl());
+            user.setActivated(userDTO.isActivated());
+            user.setLangKey(userDTO.getLangKey() != null ? userDTO.getLangKey() : Constants.DEFAULT_LANGUAGE);
+            if (userDTO.getPassword() == null) {
+                user.setResetKey(RandomUtil.generateResetKey());
+                user.setResetDate(now.toInstant());
+            }
+            user.setCreatedBy(importedBy);
+            user.setCreatedDate(now.toInstant());
+            user.setLastModifiedBy(importedBy);
+            user.setLastModifiedDate(now.toInstant());
+            if (userDTO.getAuthorities() != null) {
+                user.setAuthorities(
+                    userDTO.getAuthorities().stream().map(authorities::get).filter(Objects::nonNull).collect(Collectors.toSet())
+                );
+            }
+            users.add(user);
+        }
+
+        jdbcTemplate
+            .getJdbcOperations()
+            .batchUpdate(
+                INSERT_USER_SQL,
+                users,
+                batchSize,
+                (ps, user) -> {
+                    ps.setString(1, user.getLogin());
+                    ps.setString(2, user.getPassword());
+                    ps.setString(3, user.getFirstName());
+                    ps.setString(4, user.getLastName());
+                    ps.setString(5, user.getEmail());
+                    ps.setString(6, user.getImageUrl());
+                    ps.setBoolean(7, user.isActivated());
+                    ps.setString(8, user.getLangKey());
+                    ps.setString(9, user.getResetKey());
+                    ps.setTimestamp(10, user.getResetDate() != null ? now : null);
+                    ps.setString(11, importedBy);
+                    ps.setTimestamp(12, now);
+                    ps.setString(13, importedBy);
+                    ps.setTimestamp(14, now);
+                }
+            );
+
+        // Generated ids are not reliably returned by batched inserts, read them back by login
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(
+            "select id, login from jhi_user where login in (:values)",
+            inValues(users.stream().map(User::getLogin).collect(Collectors.toList())),
+            rs -> {
+                ids.put(rs.getString("login"), rs.getLong("id"));
+            }
+        );
+        List<Object[]> userAuthorities = new ArrayList<>();
+        for (User user : users) {
+            user.setId(ids.get(user.getLogin()));
+            for (Authority authority : user.getAuthorities()) {
+                userAuthorities.add(new Object[] { user.getId(), authority.getName() });
+            }
+        }
+        jdbcTemplate
+            .getJdbcOperations()
+            .batchUpdate(
+                INSERT_USER_AUTHORITY_SQL,
+                userAuthorities,
+                batchSize,
+                (ps, userAuthority) -> {
+                    ps.setLong(1, (Long) userAuthority[0]);
+                    ps.setString(2, (String) userAuthority[1]);
+                }
+            );
+        return users;
+    }
+
+    private static MapSqlParameterSource inValues(Iterable<String> values) {
+        return new MapSqlParameterSource("values", values);
+    }
+
+    private static final class ImportRow {
+
+        private final long line;
+
+        private final ImportedUserDTO user;
+
+        private String passwordHash;
+
+        ImportRow(long line, ImportedUserDTO user) {
+            this.line = line;
+            this.user = user;
+        }
+    }
+
+    private interface UserRecordReader {
+        /**
+         * Read the next user, unreadable records are rejected and skipped.
+         *
+         * @return the next user, or {@code null} at the end of the input.
+         */
+        ImportRow next(UserImportResult result) throws IOException;
+    }
+
+    private final class JsonUserRecordReader implements UserRecordReader {
+
+        private final BufferedReader reader;
+
+        private long line;
+
+        JsonUserRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next(UserImportResult result) throws IOException {
+            String json;
+            while ((json = reader.readLine()) != null) {
+                line++;
+                if (StringUtils.isBlank(json)) {
+                    continue;
+                }
+                try {
+                    return new ImportRow(line, userReader.readValue(json));
+                } catch (JsonProcessingException e) {
+                    result.reject(line, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvUserRecordReader implements UserRecordReader {
+
+        private final BufferedReader reader;
+
+        private Map<String, Integer> columns;
+
+        private long line;
+
+        CsvUserRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next(UserImportResult result) throws IOException {
+            if (columns == null) {
+                List<String> header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+            List<String> record;
+            while ((record = readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+                ImportedUserDTO user = new ImportedUserDTO();
+                user.setLogin(field(record, "login"));
+                user.setFirstName(field(record, "firstName"));
+                user.setLastName(field(record, "lastName"));
+                user.setEmail(field(record, "email"));
+                user.setImageUrl(field(record, "imageUrl"));
+                String activated = field(record, "activated");
+                if (activated != null) {
+                    user.setActivated(Boolean.parseBoolean(activated));
+                }
+                user.setLangKey(field(record, "langKey"));
+                String authorities = field(record, "authorities");
+                if (authorities != null) {
+                    user.setAuthorities(
+                        new HashSet<>(Arrays.asList(StringUtils.split(authorities, UserFileFormat.CSV_AUTHORITY_SEPARATOR)))
+                    );
+                }
+                user.setPassword(field(record, "password"));
+                return new ImportRow(line, user);
+            }
+            return null;
+        }
+
+        private String field(List<String> record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.size()) {
+                return null;
+            }
+            return StringUtils.defaultIfEmpty(UserFileFormat.unescapeCsvFormula(record.get(index)), null);
+        }
+
+        /**
+         * Read a record, with quoted fields possibly spanning several lines.
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean empty = true;
+            int c;
+            while ((c = reader.read()) != -1) {
+                empty = false;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (empty) {
+                return null;
+            }
+            line++;
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.ft.service;
+
+import com.ft.config.ApplicationProperties;
+import com.ft.domain.User;
+import com.ft.repository.UserRepository;
+import com.ft.repository.UserRepository.UserIdentity;
+import com.ft.repository.search.UserSearchRepository;
+import com.ft.service.search.SearchIndexVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service class for removing the users who never activated their account.
+ * <p>
+ * Users are removed in chunks, in the order of the creation date index: each chunk is deleted with set-based statements in
+ * its own short transaction, then removed from Elasticsearch with one bulk request. The deleted rows leave the index, so
+ * every chunk is the start of the index range, without a cursor. The purge runs on one node of the cluster, through the
+ * {@link com.ft.service.scheduling.ClusterJobs}.
+ */
+@Service
+public class UserPurgeService {
+
+    private static final String USER_AUTHORITIES_CACHE = User.class.getName() + ".authorities";
+
+    private final Logger log = LoggerFactory.getLogger(UserPurgeService.class);
+
+    private final UserRepository userRepository;
+
+    private final UserSearchRepository userSearchRepository;
+
+    private final SearchIndexVersion userSearchIndexVersion;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final SessionFactory sessionFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    private final Counter removedUsers;
+
+    private final Timer chunkTimer;
+
+    private final AtomicLong lastRemovedId = new AtomicLong();
+
+    public UserPurgeService(
+        UserRepository userRepository,
+        @Lazy UserSearchRepository userSearchRepository,
+        SearchIndexVersion userSearchIndexVersion,
+        NamedParameterJdbcTemplate jdbcTemplate,
+        CacheManager cacheManager,
+        EntityManagerFactory entityManagerFactory,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.userSearchRepository = userSearchRepository;
+        this.userSearchIndexVersion = userSearchIndexVersion;
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = applicationProperties.getUserPurge().getChunkSize();
+        this.removedUsers = Counter.builder("users.purge.removed").description("Not activated users removed").register(meterRegistry);
+        this.chunkTimer =
+            Timer.builder("users.purge.chunk").description("Removal of a chunk of not activated users").register(meterRegistry);
+        Gauge
+            .builder("users.purge.last.id", lastRemovedId, AtomicLong::get)
+            .description("Id of the last removed not activated user")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Not activated users should be automatically deleted after 3 days.
+     * <p>
+     * This is scheduled to get fired everyday, at 01:00 (am), on one node of the cluster.
+     */
+    public void removeNotActivatedUsers() {
+        removeNotActivatedUsersCreatedBefore(Instant.now().minus(3, ChronoUnit.DAYS));
+    }
+
+    private void removeNotActivatedUsersCreatedBefore(Instant dateTime) {
+        long removed = 0L;
+        List<UserIdentity> users;
+        do {
+            Timer.Sample sample = Timer.start();
+            users = Objects.requireNonNull(transactionTemplate.execute(status -> deleteChunk(dateTime)));
+            if (users.isEmpty()) {
+                break;
+            }
+            List<Long> ids = users.stream().map(UserIdentity::getId).collect(Collectors.toList());
+            userSearchRepository.deleteInBulk(ids);
+            userSearchIndexVersion.increment();
+            clearUserCaches(users);
+            sample.stop(chunkTimer);
+
+            removed += users.size();
+            removedUsers.increment(users.size());
+            lastRemovedId.set(ids.get(ids.size() - 1));
+            log.debug("Removed {} not activated users", removed);
+        } while (users.size() == chunkSize);
+        if (removed > 0) {
+            log.info("Removed {} not activated users", removed);
+        }
+    }
+
+    private List<UserIdentity> deleteChunk(Instant dateTime) {
+        List<UserIdentity> users = userRepository.findNotActivatedUsersCreatedBefore(dateTime, PageRequest.of(0, chunkSize));
+        if (users.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = users.stream().map(UserIdentity::getId).collect(Collectors.toList());
+        MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update("delete from jhi_user_authority where user_id in (:ids)", parameters);
+        jdbcTemplate.update("delete from jhi_user where id in (:ids)", parameters);
+        // The statements bypass Hibernate, so only the deleted users are evicted instead of whole cache regions
+        for (Long id : ids) {
+            sessionFactory.getCache().evictEntityData(User.class, id);
+            sessionFactory.getCache().evictCollectionData(USER_AUTHORITIES_CACHE, id);
+        }
+        return users;
+    }
+
+    private void clearUserCaches(List<UserIdentity> users) {
+        Cache usersByLogin = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE));
+        Cache usersByEmail = Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE));
+        for (UserIdentity user : users) {
+            usersByLogin.evict(user.getLogin());
+            if (user.getEmail() != null) {
+                usersByEmail.evict(user.getEmail());
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.ft.service;
+
+import com.ft.config.ApplicationProperties;
+import com.ft.domain.User;
+import com.ft.repository.search.BoundedSearchHits;
+import com.ft.repository.search.UserSearchRepository;
+import com.ft.service.dto.UserDTO;
+import com.ft.service.search.SearchIndexVersion;
+import com.ft.service.search.SearchQueryAnalyzer;
+import com.ft.service.search.SearchQueryAnalyzer.AnalyzedQuery;
+import com.ft.service.search.SearchResultCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service class for searching users in Elasticsearch.
+ * <p>
+ * Every query goes through the {@link SearchQueryAnalyzer}, and is then run with a timeout and a
+ * {@code terminate_after} bound. The estimated cost of each query is recorded as a metric.
+ * <p>
+ * Results are cached per normalized query and page, against the {@link SearchIndexVersion} of the user index:
+ * a cache hit does not reach Elasticsearch, and any write to the index invalidates the cache. Partial results, of
+ * searches which timed out or were terminated early, are not cached.
+ */
+@Service
+public class UserSearchService {
+
+    private static final String INDEX_TAG = "user";
+
+    private final Logger log = LoggerFactory.getLogger(UserSearchService.class);
+
+    private final UserSearchRepository userSearchRepository;
+
+    private final SearchIndexVersion userSearchIndexVersion;
+
+    private final ApplicationProperties.Search searchProperties;
+
+    private final SearchQueryAnalyzer queryAnalyzer;
+
+    private final SearchResultCache<List<UserDTO>> resultCache;
+
+    private final MeterRegistry meterRegistry;
+
+    public UserSearchService(
+        @Lazy UserSearchRepository userSearchRepository,
+        SearchIndexVersion userSearchIndexVersion,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.userSearchRepository = userSearchRepository;
+        this.userSearchIndexVersion = userSearchIndexVersion;
+        this.searchProperties = applicationProperties.getSearch();
+        this.queryAnalyzer = new SearchQueryAnalyzer(searchProperties);
+        this.resultCache = new SearchResultCache<>(searchProperties.getCache().getMaxEntries());
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("search.cache.size", resultCache, SearchResultCache::size).tag("index", INDEX_TAG).register(meterRegistry);
+    }
+
+    /**
+     * Search for users matching the query.
+     *
+     * @param query the query, as typed by the user.
+     * @param mode the query syntax.
+     * @param pageable the page to return, its size is capped to the configured maximum number of results.
+     * @return the matching users, with only their public information.
+     * @throws InvalidSearchQueryException if the query is rejected by the analyzer.
+     */
+    public List<UserDTO> search(String query, SearchQueryAnalyzer.Mode mode, Pageable pageable) {
+        AnalyzedQuery analyzedQuery;
+        try {
+            analyzedQuery = queryAnalyzer.analyze(query, mode);
+        } catch (InvalidSearchQueryException e) {
+            Counter.builder("search.query.rejected").tag("index", INDEX_TAG).tag("mode", mode.name()).register(meterRegistry).increment();
+            throw e;
+        }
+        int size = Math.min(pageable.getPageSize(), searchProperties.getMaxResults());
+        int from = pageable.getPageNumber() * size;
+        if (!searchProperties.getCache().isEnabled()) {
+            return toUserDTOs(doSearch(analyzedQuery, from, size));
+        }
+
+        // The version must be read before searching: if a write happens meanwhile, these results are cached under
+        // a version that is already outdated, and will never be served.
+        long indexVersion = userSearchIndexVersion.current();
+        String key = mode + ":" + from + ":" + size + ":" + analyzedQuery.getNormalizedQuery();
+        Optional<List<UserDTO>> cached = resultCache.get(indexVersion, key);
+        Counter
+            .builder("search.cache.requests")
+            .tag("index", INDEX_TAG)
+            .tag("result", cached.isPresent() ? "hit" : "miss")
+            .register(meterRegistry)
+            .increment();
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        BoundedSearchHits<User> hits = doSearch(analyzedQuery, from, size);
+        List<UserDTO> results = Collections.unmodifiableList(toUserDTOs(hits));
+        if (hits.isPartial()) {
+            // Would be served until the next write to the index, which may be days away
+            log.debug("Not caching the partial results of {} query '{}'", mode, analyzedQuery.getNormalizedQuery());
+        } else {
+            resultCache.put(indexVersion, key, results);
+        }
+        return results;
+    }
+
+    private BoundedSearchHits<User> doSearch(AnalyzedQuery analyzedQuery, int from, int size) {
+        log.debug(
+            "Searching users with {} query '{}' of cost {}",
+            analyzedQuery.getMode(),
+            analyzedQuery.getNormalizedQuery(),
+            analyzedQuery.getCost()
+        );
+        String costGroup = costGroup(analyzedQuery.getCost());
+        DistributionSummary
+            .builder("search.query.cost")
+            .tag("index", INDEX_TAG)
+            .tag("mode", analyzedQuery.getMode().name())
+            .register(meterRegistry)
+            .record(analyzedQuery.getCost());
+        return Timer
+            .builder("search.query")
+            .tag("index", INDEX_TAG)
+            .tag("cost", costGroup)
+            .register(meterRegistry)
+            .record(
+                () ->
+                    userSearchRepository.searchBounded(
+                        analyzedQuery.getQuery(),
+                        from,
+                        size,
+                        searchProperties.getTimeout(),
+                        searchProperties.getTerminateAfter(),
+                        "user-search-" + costGroup
+                    )
+            );
+    }
+
+    private static List<UserDTO> toUserDTOs(BoundedSearchHits<User> hits) {
+        return hits.getHits().stream().map(UserDTO::new).collect(Collectors.toList());
+    }
+
+    private String costGroup(int cost) {
+        int maxCost = searchProperties.getMaxCost();
+        if (cost * 4 <= maxCost) {
+            return "low";
+        }
+        if (cost * 2 <= maxCost) {
+            return "medium";
+        }
+        return "high";
+    }
+}
@@ -9,20 +9,25 @@ import com.ft.repository.search.UserSearchRepository;
 import com.ft.security.AuthoritiesConstants;
 import com.ft.security.SecurityUtils;
 import com.ft.service.dto.AdminUserDTO;
+import com.ft.service.dto.KeysetPage;
 import com.ft.service.dto.UserDTO;
+import com.ft.service.search.SearchIndexVersion;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -40,6 +45,8 @@ public class UserService {
 
     private final UserSearchRepository userSearchRepository;
 
+    private final SearchIndexVersion userSearchIndexVersion;
+
     private final AuthorityRepository authorityRepository;
 
     private final CacheManager cacheManager;
@@ -47,13 +54,15 @@ public class UserService {
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
-        UserSearchRepository userSearchRepository,
+        @Lazy UserSearchRepository userSearchRepository,
+        SearchIndexVersion userSearchIndexVersion,
         AuthorityRepository authorityRepository,
         CacheManager cacheManager
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userSearchRepository = userSearchRepository;
+        this.userSearchIndexVersion = userSearchIndexVersion;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
     }
@@ -67,7 +76,7 @@ public class UserService {
                     // activate given user for the registration key.
                     user.setActivated(true);
                     user.setActivationKey(null);
-                    userSearchRepository.save(user);
+                    this.indexUser(user);
                     this.clearUserCaches(user);
                     log.debug("Activated user: {}", user);
                     return user;
@@ -146,7 +155,7 @@ public class UserService {
         authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
-        userSearchRepository.save(newUser);
+        this.indexUser(newUser);
         this.clearUserCaches(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
@@ -192,7 +201,7 @@ public class UserService {
             user.setAuthorities(authorities);
         }
         userRepository.save(user);
-        userSearchRepository.save(user);
+        this.indexUser(user);
         this.clearUserCaches(user);
         log.debug("Created Information for User: {}", user);
         return user;
@@ -230,7 +239,9 @@ public class UserService {
                         .filter(Optional::isPresent)
                         .map(Optional::get)
                         .forEach(managedAuthorities::add);
-                    userSearchRepository.save(user);
+                    // The authorities are not columns of the user, their changes must bump its version too
+                    user.setLastModifiedDate(Instant.now());
+                    this.indexUser(user);
                     this.clearUserCaches(user);
                     log.debug("Changed Information for User: {}", user);
                     return user;
@@ -245,7 +256,7 @@ public class UserService {
             .ifPresent(
                 user -> {
                     userRepository.delete(user);
-                    userSearchRepository.delete(user);
+                    this.unindexUser(user);
                     this.clearUserCaches(user);
                     log.debug("Deleted User: {}", user);
                 }
@@ -274,7 +285,7 @@ public class UserService {
                     }
                     user.setLangKey(langKey);
                     user.setImageUrl(imageUrl);
-                    userSearchRepository.save(user);
+                    this.indexUser(user);
                     this.clearUserCaches(user);
                     log.debug("Changed Information for User: {}", user);
                 }
@@ -307,7 +318,88 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
-        return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
+        return userRepository.findAllPublicUsers(pageable).map(UserService::toUserDTO);
+    }
+
+    /**
+     * Get a page of users by keyset pagination on their id, without the cost of an offset.
+     *
+     * @param afterId the id after which the page starts, or {@code null} for the first page.
+     * @param beforeId the id before which the page ends, or {@code null}; takes precedence over {@code afterId}.
+     * @param size the page size.
+     * @param withCount whether the total number of users should be counted.
+     * @return the page of users.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<AdminUserDTO> getAllManagedUsers(Long afterId, Long beforeId, int size, boolean withCount) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<User> users = beforeId != null
+            ? userRepository.findAllByIdLessThanOrderByIdDesc(beforeId, limit)
+            : userRepository.findAllByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, limit);
+        return toKeysetPage(
+            users.stream().map(AdminUserDTO::new).collect(Collectors.toList()),
+            AdminUserDTO::getId,
+            afterId,
+            beforeId,
+            size,
+            withCount ? userRepository.count() : null
+        );
+    }
+
+    /**
+     * Get a page of activated users by keyset pagination on their id, without the cost of an offset.
+     *
+     * @param afterId the id after which the page starts, or {@code null} for the first page.
+     * @param beforeId the id before which the page ends, or {@code null}; takes precedence over {@code afterId}.
+     * @param size the page size.
+     * @param withCount whether the total number of activated users should be counted.
+     * @return the page of users.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<UserDTO> getAllPublicUsers(Long afterId, Long beforeId, int size, boolean withCount) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<UserRepository.PublicUser> users = beforeId != null
+            ? userRepository.findAllPublicUsersByIdLessThan(beforeId, limit)
+            : userRepository.findAllPublicUsersByIdGreaterThan(afterId != null ? afterId : 0L, limit);
+        return toKeysetPage(
+            users.stream().map(UserService::toUserDTO).collect(Collectors.toList()),
+            UserDTO::getId,
+            afterId,
+            beforeId,
+            size,
+            withCount ? userRepository.countByActivatedIsTrue() : null
+        );
+    }
+
+    private static UserDTO toUserDTO(UserRepository.PublicUser user) {
+        return new UserDTO(user.getId(), user.getLogin());
+    }
+
+    private static <T> KeysetPage<T> toKeysetPage(
+        List<T> rows,
+        Function<T, Long> idOf,
+        Long afterId,
+        Long beforeId,
+        int size,
+        Long totalCount
+    ) {
+        boolean hasMore = rows.size() > size;
+        List<T> content = new ArrayList<>(hasMore ? rows.subList(0, size) : rows);
+        if (beforeId != null) {
+            // Rows were read backwards from the cursor
+            Collections.reverse(content);
+        }
+        if (content.isEmpty()) {
+            return new KeysetPage<>(content, null, null, totalCount);
+        }
+        boolean hasNext = beforeId != null || hasMore;
+        boolean hasPrevious = beforeId != null ? hasMore : afterId != null;
+        return new KeysetPage<>(
+            content,
+            hasNext ? idOf.apply(content.get(content.size() - 1)) : null,
+            hasPrevious ? idOf.apply(content.get(0)) : null,
+            totalCount
+        );
     }
 
     @Transactional(readOnly = true)
@@ -321,22 +413,24 @@ public class UserService {
     }
 
     /**
-     * Not activated users should be automatically deleted after 3 days.
-     * <p>
-     * This is scheduled to get fired everyday, at 01:00 (am).
+     * Get the version of a user, without loading the user.
+     *
+     * @param login the login of the user.
+     * @return the version of the user, empty if there is no such user.
      */
-    @Scheduled(cron = "0 0 1 * * ?")
-    public void removeNotActivatedUsers() {
-        userRepository
-            .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(Instant.now().minus(3, ChronoUnit.DAYS))
-            .forEach(
-                user -> {
-                    log.debug("Deleting not activated user {}", user.getLogin());
-                    userRepository.delete(user);
-                    userSearchRepository.delete(user);
-                    this.clearUserCaches(user);
-                }
-            );
+    @Transactional(readOnly = true)
+    public Optional<UserRepository.UserVersion> getUserVersion(String login) {
+        return userRepository.findVersionByLogin(login);
+    }
+
+    /**
+     * Get the version of the public users, without querying them: the version of the user index, which every user
+     * write increments once committed.
+     *
+     * @return the version of the public users.
+     */
+    public long getPublicUsersVersion() {
+        return userSearchIndexVersion.current();
     }
 
     /**
@@ -348,6 +442,35 @@ public class UserService {
         return authorityRepository.findAll().stream().map(Authority::getName).collect(Collectors.toList());
     }
 
+    private void indexUser(User user) {
+        userSearchRepository.save(user);
+        incrementIndexVersionAfterCommit();
+    }
+
+    private void unindexUser(User user) {
+        userSearchRepository.delete(user);
+        incrementIndexVersionAfterCommit();
+    }
+
+    /**
+     * The version also tags the public users, so it must not change before the write is visible in the database:
+     * a request in between would tag the previous users with the new version.
+     */
+    private void incrementIndexVersionAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userSearchIndexVersion.increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userSearchIndexVersion.increment();
+                }
+            }
+        );
+    }
+
     private void clearUserCaches(User user) {
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
         if (user.getEmail() != null) {
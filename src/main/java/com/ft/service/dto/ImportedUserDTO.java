@@ -0,0 +1,31 @@
+package com.ft.service.dto;
+
+import javax.validation.constraints.Size;
+
+/**
+ * A DTO representing a user of a bulk import, with an optional clear text password.
+ */
+public class ImportedUserDTO extends AdminUserDTO {
+
+    @Size(min = 4, max = 100)
+    private String password;
+
+    public ImportedUserDTO() {
+        // Imported users are activated, unless stated otherwise
+        setActivated(true);
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportedUserDTO{" + super.toString() + "} ";
+    }
+}
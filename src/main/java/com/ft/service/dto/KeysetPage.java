@@ -0,0 +1,55 @@
+package com.ft.service.dto;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of results fetched by keyset (seek) pagination.
+ * <p>
+ * Rows are ordered by id, and the neighbouring pages are designated by the id to seek from, so every page
+ * costs the same as the first one. The total count is only computed when explicitly requested.
+ *
+ * @param <T> the type of the content.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+
+    private final Long nextAfterId;
+
+    private final Long previousBeforeId;
+
+    private final Long totalCount;
+
+    public KeysetPage(List<T> content, Long nextAfterId, Long previousBeforeId, Long totalCount) {
+        this.content = content;
+        this.nextAfterId = nextAfterId;
+        this.previousBeforeId = previousBeforeId;
+        this.totalCount = totalCount;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the id after which the next page starts, if there is one.
+     */
+    public Optional<Long> getNextAfterId() {
+        return Optional.ofNullable(nextAfterId);
+    }
+
+    /**
+     * @return the id before which the previous page ends, if there is one.
+     */
+    public Optional<Long> getPreviousBeforeId() {
+        return Optional.ofNullable(previousBeforeId);
+    }
+
+    /**
+     * @return the total number of rows, if it was requested.
+     */
+    public Optional<Long> getTotalCount() {
+        return Optional.ofNullable(totalCount);
+    }
+}
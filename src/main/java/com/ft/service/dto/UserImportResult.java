@@ -0,0 +1,84 @@
+package com.ft.service.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A DTO representing the outcome of a bulk user import.
+ */
+public class UserImportResult {
+
+    /**
+     * Maximum number of rejected lines which are detailed.
+     */
+    public static final int MAX_REJECTIONS = 100;
+
+    private long imported;
+
+    private long rejected;
+
+    private final List<Rejection> rejections = new ArrayList<>();
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<Rejection> getRejections() {
+        return Collections.unmodifiableList(rejections);
+    }
+
+    public void addImported(long count) {
+        this.imported += count;
+    }
+
+    public void reject(long line, String login, String reason) {
+        rejected++;
+        if (rejections.size() < MAX_REJECTIONS) {
+            rejections.add(new Rejection(line, login, reason));
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserImportResult{" +
+            "imported=" + imported +
+            ", rejected=" + rejected +
+            "}";
+    }
+
+    /**
+     * A line of the import which was not imported.
+     */
+    public static class Rejection {
+
+        private final long line;
+
+        private final String login;
+
+        private final String reason;
+
+        Rejection(long line, String login, String reason) {
+            this.line = line;
+            this.login = login;
+            this.reason = reason;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getLogin() {
+            return login;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+    }
+}
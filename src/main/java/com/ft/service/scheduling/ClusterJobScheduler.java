@@ -0,0 +1,243 @@
+package com.ft.service.scheduling;
+
+import com.ft.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingProperties;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs periodic jobs once per scheduled time across the cluster.
+ * <p>
+ * Every node schedules the registered jobs. When a job fires, the node which gets its lease through Redis runs it,
+ * unless another node already ran it for the same scheduled time. Runs missed because no node was up at that time
+ * are detected and run late.
+ * <p>
+ * The lag and duration of the runs are exported as the {@code scheduler.job.lag} and {@code scheduler.job.duration}
+ * timers, tagged with the job name and the outcome of the run.
+ */
+@Component
+public class ClusterJobScheduler implements DisposableBean {
+
+    private static final Duration MAX_LOOKBACK = Duration.ofDays(400);
+
+    private final Logger log = LoggerFactory.getLogger(ClusterJobScheduler.class);
+
+    private final RedissonClient redissonClient;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration missedRunGracePeriod;
+
+    private final Clock clock;
+
+    private final ThreadPoolTaskScheduler taskScheduler;
+
+    private final Map<String, ClusterJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClusterJobScheduler(
+        RedissonClient redissonClient,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties,
+        TaskSchedulingProperties taskSchedulingProperties
+    ) {
+        this(redissonClient, meterRegistry, applicationProperties, taskSchedulingProperties, Clock.systemDefaultZone());
+    }
+
+    ClusterJobScheduler(
+        RedissonClient redissonClient,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties,
+        TaskSchedulingProperties taskSchedulingProperties,
+        Clock clock
+    ) {
+        this.redissonClient = redissonClient;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        ApplicationProperties.Scheduler properties = applicationProperties.getScheduler();
+        this.missedRunGracePeriod = properties.getMissedRunGracePeriod();
+        this.taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(taskSchedulingProperties.getPool().getSize());
+        taskScheduler.setThreadNamePrefix(taskSchedulingProperties.getThreadNamePrefix());
+        taskScheduler.setClock(clock);
+        taskScheduler.initialize();
+        Duration checkInterval = properties.getMissedRunCheckInterval();
+        taskScheduler.scheduleWithFixedDelay(this::runMissedJobs, clock.instant().plus(checkInterval), checkInterval);
+    }
+
+    /**
+     * Schedule a job on the cluster.
+     * <p>
+     * A job which never ran before is not considered late: its first run is the next scheduled one.
+     *
+     * @param name the name of the job, unique across the application.
+     * @param cron the cron expression of the job.
+     * @param task the job.
+     */
+    public void schedule(String name, String cron, Runnable task) {
+        ClusterJob job = new ClusterJob(name, CronExpression.parse(cron), task, redissonClient.getAtomicLong("scheduler:last-run:" + name));
+        ZonedDateTime previousRun = job.previousRun(ZonedDateTime.now(clock));
+        job.lastRun.compareAndSet(0L, previousRun != null ? previousRun.toInstant().toEpochMilli() : clock.millis());
+        job.trigger = taskScheduler.schedule(() -> run(job), new CronTrigger(cron, clock.getZone()));
+        ClusterJob previous = jobs.put(name, job);
+        if (previous != null) {
+            previous.trigger.cancel(false);
+        }
+        log.debug("Scheduled job {} with '{}'", name, cron);
+    }
+
+    /**
+     * Stop scheduling a job on this node.
+     *
+     * @param name the name of the job.
+     */
+    public void cancel(String name) {
+        ClusterJob job = jobs.remove(name);
+        if (job != null) {
+            job.trigger.cancel(false);
+            log.debug("Cancelled job {}", name);
+        }
+    }
+
+    /**
+     * Run a job for its last scheduled time, if no node did yet.
+     *
+     * @param name the name of the job.
+     */
+    void run(String name) {
+        ClusterJob job = jobs.get(name);
+        if (job != null) {
+            run(job);
+        }
+    }
+
+    private void run(ClusterJob job) {
+        ZonedDateTime scheduledRun = job.previousRun(ZonedDateTime.now(clock));
+        if (scheduledRun == null) {
+            return;
+        }
+        long scheduledMillis = scheduledRun.toInstant().toEpochMilli();
+        if (job.lastRun.get() >= scheduledMillis) {
+            skipped(job, "done");
+            return;
+        }
+        RLock lease = lease(job);
+        if (!lease.tryLock()) {
+            skipped(job, "leased");
+            return;
+        }
+        try {
+            // Checked again under the lease, another node may have completed the run in the meantime
+            if (job.lastRun.get() >= scheduledMillis) {
+                skipped(job, "done");
+                return;
+            }
+            Duration lag = Duration.between(scheduledRun.toInstant(), clock.instant());
+            Timer.builder("scheduler.job.lag").tag("job", job.name).register(meterRegistry).record(lag);
+            log.debug("Running job {} scheduled at {}", job.name, scheduledRun);
+            Timer.Sample sample = Timer.start();
+            String outcome = "success";
+            try {
+                job.task.run();
+            } catch (RuntimeException e) {
+                outcome = "failure";
+                log.error("Job {} scheduled at {} failed", job.name, scheduledRun, e);
+            }
+            sample.stop(Timer.builder("scheduler.job.duration").tag("job", job.name).tag("outcome", outcome).register(meterRegistry));
+            // A failed run is not retried, the job runs again at its next scheduled time
+            job.lastRun.set(scheduledMillis);
+        } finally {
+            lease.unlock();
+        }
+    }
+
+    private void runMissedJobs() {
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        for (ClusterJob job : jobs.values()) {
+            ZonedDateTime scheduledRun = job.previousRun(now);
+            if (
+                scheduledRun == null ||
+                job.lastRun.get() >= scheduledRun.toInstant().toEpochMilli() ||
+                Duration.between(scheduledRun, now).compareTo(missedRunGracePeriod) < 0 ||
+                lease(job).isLocked()
+            ) {
+                continue;
+            }
+            log.warn("Job {} missed its run scheduled at {}, running it now", job.name, scheduledRun);
+            Counter.builder("scheduler.job.missed").tag("job", job.name).register(meterRegistry).increment();
+            run(job);
+        }
+    }
+
+    private RLock lease(ClusterJob job) {
+        return redissonClient.getLock("scheduler:lease:" + job.name);
+    }
+
+    private void skipped(ClusterJob job, String reason) {
+        log.debug("Skipped job {}, {}", job.name, reason);
+        Counter.builder("scheduler.job.skipped").tag("job", job.name).tag("reason", reason).register(meterRegistry).increment();
+    }
+
+    @Override
+    public void destroy() {
+        taskScheduler.shutdown();
+    }
+
+    private static final class ClusterJob {
+
+        private final String name;
+
+        private final CronExpression expression;
+
+        private final Runnable task;
+
+        /**
+         * Epoch millis of the last scheduled time the job ran for.
+         */
+        private final RAtomicLong lastRun;
+
+        private ScheduledFuture<?> trigger;
+
+        ClusterJob(String name, CronExpression expression, Runnable task, RAtomicLong lastRun) {
+            this.name = name;
+            this.expression = expression;
+            this.task = task;
+            this.lastRun = lastRun;
+        }
+
+        /**
+         * Get the last scheduled time of the job, at or before the given time.
+         */
+        ZonedDateTime previousRun(ZonedDateTime now) {
+            for (Duration lookback = Duration.ofMinutes(1); lookback.compareTo(MAX_LOOKBACK) <= 0; lookback = lookback.multipliedBy(2)) {
+                ZonedDateTime run = expression.next(now.minus(lookback));
+                if (run != null && !run.isAfter(now)) {
+                    ZonedDateTime next;
+                    while ((next = expression.next(run)) != null && !next.isAfter(now)) {
+                        run = next;
+                    }
+                    return run;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.ft.service.scheduling;
+
+import com.ft.service.UserPurgeService;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers the periodic jobs of the application with the {@link ClusterJobScheduler}.
+ * <p>
+ * The jobs are registered once every singleton is created, and call the services through their proxies, so that
+ * they are logged, timed and traced like any other service call.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ClusterJobs implements SmartInitializingSingleton {
+
+    static final String USER_PURGE_JOB = "user-purge";
+
+    private final ClusterJobScheduler clusterJobScheduler;
+
+    private final UserPurgeService userPurgeService;
+
+    public ClusterJobs(ClusterJobScheduler clusterJobScheduler, UserPurgeService userPurgeService) {
+        this.clusterJobScheduler = clusterJobScheduler;
+        this.userPurgeService = userPurgeService;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        clusterJobScheduler.schedule(USER_PURGE_JOB, "0 0 1 * * ?", userPurgeService::removeNotActivatedUsers);
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Scheduling of periodic jobs across the cluster.
+ */
+package com.ft.service.scheduling;
@@ -0,0 +1,37 @@
+package com.ft.service.search;
+
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RedissonClient;
+
+/**
+ * Monotonically increasing version of a search index, shared by all the nodes through Redis.
+ * <p>
+ * The index write path increments it after each change, so that anything computed from an older version, such as
+ * cached search results, is known to be stale.
+ */
+public class SearchIndexVersion {
+
+    private final RAtomicLong version;
+
+    public SearchIndexVersion(RedissonClient redissonClient, String indexName) {
+        this.version = redissonClient.getAtomicLong("search-index-version:" + indexName);
+    }
+
+    /**
+     * Get the current version of the index.
+     *
+     * @return the current version.
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Record a change to the index. Must be called once the change is visible to searches.
+     *
+     * @return the new version.
+     */
+    public long increment() {
+        return version.incrementAndGet();
+    }
+}
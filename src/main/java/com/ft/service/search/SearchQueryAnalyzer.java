@@ -0,0 +1,286 @@
+package com.ft.service.search;
+
+import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.elasticsearch.index.query.QueryBuilders.simpleQueryStringQuery;
+
+import com.ft.config.ApplicationProperties;
+import com.ft.service.InvalidSearchQueryException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryStringQueryBuilder;
+import org.elasticsearch.index.query.SimpleQueryStringBuilder;
+import org.elasticsearch.index.query.SimpleQueryStringFlag;
+
+/**
+ * Rewrites or rejects user supplied search strings before they reach Elasticsearch.
+ * <p>
+ * Leading wildcards, regular expressions, fuzzy, proximity and range operators, as well as large boolean
+ * expansions, are either stripped from the query or refused. Every accepted query carries an estimated cost,
+ * computed from its terms and the number of searched fields, so that callers can meter it.
+ */
+public class SearchQueryAnalyzer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Set<String> BOOLEAN_OPERATORS = Set.of("AND", "OR", "NOT", "&&", "||", "|", "+", "-", "!");
+
+    private static final String LEADING_OPERATORS = "+-|!(\"";
+
+    private static final String TRAILING_OPERATORS = ")\"";
+
+    private static final String FORBIDDEN_QUERY_STRING_CHARACTERS = "/~[]{}";
+
+    private static final int TERM_COST = 1;
+
+    private static final int PREFIX_COST = 4;
+
+    private static final int WILDCARD_COST = 8;
+
+    private final ApplicationProperties.Search properties;
+
+    private final Set<String> fields;
+
+    public SearchQueryAnalyzer(ApplicationProperties.Search properties) {
+        this.properties = properties;
+        this.fields = new HashSet<>(Arrays.asList(properties.getFields()));
+    }
+
+    /**
+     * Analyze a raw search string.
+     *
+     * @param rawQuery the query as typed by the user.
+     * @param mode the query syntax to use.
+     * @return the rewritten query, with its estimated cost.
+     * @throws InvalidSearchQueryException if the query is empty, too long or too expensive.
+     */
+    public AnalyzedQuery analyze(String rawQuery, Mode mode) {
+        if (StringUtils.isBlank(rawQuery)) {
+            throw new InvalidSearchQueryException("Search query must not be empty");
+        }
+        String query = WHITESPACE.matcher(rawQuery.trim()).replaceAll(" ");
+        if (query.length() > properties.getMaxQueryLength()) {
+            throw new InvalidSearchQueryException("Search query must not be longer than " + properties.getMaxQueryLength() + " characters");
+        }
+        if (mode == Mode.QUERY_STRING) {
+            return analyzeQueryString(query);
+        }
+        return analyzeSimpleQuery(query);
+    }
+
+    private AnalyzedQuery analyzeSimpleQuery(String query) {
+        StringBuilder rewritten = new StringBuilder(query.length());
+        int clauses = 0;
+        int cost = 0;
+        for (String token : query.split(" ")) {
+            int start = termStart(token);
+            int end = termEnd(token, start);
+            String term = StringUtils.stripStart(token.substring(start, end), "*");
+            if (term.isEmpty()) {
+                // A bare operator or parenthesis, keep it without any dangling wildcard.
+                String operators = StringUtils.remove(token, '*');
+                if (!operators.isEmpty()) {
+                    appendToken(rewritten, operators);
+                }
+                continue;
+            }
+            clauses++;
+            if (term.endsWith("*")) {
+                String prefix = StringUtils.stripEnd(term, "*");
+                if (prefix.length() < properties.getMinPrefixLength()) {
+                    // Too short a prefix expands to most of the index, search for the literal term instead.
+                    term = prefix;
+                    cost += TERM_COST;
+                } else {
+                    term = prefix + "*";
+                    cost += PREFIX_COST;
+                }
+            } else {
+                cost += TERM_COST;
+            }
+            if (!term.isEmpty()) {
+                appendToken(rewritten, token.substring(0, start) + term + token.substring(end));
+            }
+        }
+        checkLimits(clauses, cost);
+
+        SimpleQueryStringBuilder builder = simpleQueryStringQuery(rewritten.toString())
+            .flags(
+                SimpleQueryStringFlag.AND,
+                SimpleQueryStringFlag.OR,
+                SimpleQueryStringFlag.NOT,
+                SimpleQueryStringFlag.PHRASE,
+                SimpleQueryStringFlag.PRECEDENCE,
+                SimpleQueryStringFlag.PREFIX,
+                SimpleQueryStringFlag.WHITESPACE,
+                SimpleQueryStringFlag.ESCAPE
+            )
+            .analyzeWildcard(false);
+        for (String field : properties.getFields()) {
+            builder.field(field);
+        }
+        return new AnalyzedQuery(builder, rewritten.toString(), Mode.SIMPLE, cost * fields.size());
+    }
+
+    private AnalyzedQuery analyzeQueryString(String query) {
+        if (!properties.isQueryStringEnabled()) {
+            throw new InvalidSearchQueryException("Query string search is disabled");
+        }
+        int clauses = 0;
+        int cost = 0;
+        for (String token : query.split(" ")) {
+            if (BOOLEAN_OPERATORS.contains(token)) {
+                continue;
+            }
+            if (StringUtils.containsAny(token, FORBIDDEN_QUERY_STRING_CHARACTERS)) {
+                throw new InvalidSearchQueryException("Regular expression, fuzzy, proximity and range queries are not allowed");
+            }
+            int start = termStart(token);
+            String term = token.substring(start, termEnd(token, start));
+            int colon = term.indexOf(':');
+            if (colon >= 0) {
+                String field = term.substring(0, colon);
+                if (!fields.contains(field)) {
+                    throw new InvalidSearchQueryException("Searching on field '" + field + "' is not allowed");
+                }
+                term = term.substring(colon + 1);
+                term = term.substring(termStart(term));
+            }
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (term.startsWith("*") || term.startsWith("?")) {
+                throw new InvalidSearchQueryException("Leading wildcards are not allowed");
+            }
+            clauses++;
+            String prefix = StringUtils.stripEnd(term, "*");
+            if (StringUtils.containsAny(prefix, "*?")) {
+                cost += WILDCARD_COST;
+            } else if (prefix.length() < term.length()) {
+                if (prefix.length() < properties.getMinPrefixLength()) {
+                    throw new InvalidSearchQueryException(
+                        "Prefix queries need at least " + properties.getMinPrefixLength() + " characters before the wildcard"
+                    );
+                }
+                cost += PREFIX_COST;
+            } else {
+                cost += TERM_COST;
+            }
+        }
+        checkLimits(clauses, cost);
+
+        QueryStringQueryBuilder builder = queryStringQuery(query).allowLeadingWildcard(false).analyzeWildcard(false);
+        for (String field : properties.getFields()) {
+            builder.field(field);
+        }
+        return new AnalyzedQuery(builder, query, Mode.QUERY_STRING, cost * fields.size());
+    }
+
+    private void checkLimits(int clauses, int cost) {
+        if (clauses == 0) {
+            throw new InvalidSearchQueryException("Search query must contain at least one term");
+        }
+        if (clauses > properties.getMaxClauses()) {
+            throw new InvalidSearchQueryException("Search query must not contain more than " + properties.getMaxClauses() + " terms");
+        }
+        if (cost * fields.size() > properties.getMaxCost()) {
+            throw new InvalidSearchQueryException("Search query is too expensive, please use fewer or more specific terms");
+        }
+    }
+
+    private static int termStart(String token) {
+        int start = 0;
+        while (start < token.length() && LEADING_OPERATORS.indexOf(token.charAt(start)) >= 0) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int termEnd(String token, int start) {
+        int end = token.length();
+        while (end > start && TRAILING_OPERATORS.indexOf(token.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return end;
+    }
+
+    private static void appendToken(StringBuilder query, String token) {
+        if (query.length() > 0) {
+            query.append(' ');
+        }
+        query.append(token);
+    }
+
+    /**
+     * Supported query syntaxes.
+     */
+    public enum Mode {
+        /**
+         * {@code simple_query_string} restricted to the configured fields, the default.
+         */
+        SIMPLE,
+        /**
+         * Full Lucene {@code query_string} syntax, only when enabled and with expensive operators refused.
+         */
+        QUERY_STRING;
+
+        /**
+         * Resolve a mode from a request parameter, defaulting to {@link #SIMPLE}.
+         *
+         * @param parameter the request parameter, may be {@code null}.
+         * @return the corresponding mode.
+         * @throws InvalidSearchQueryException if the parameter does not name a mode.
+         */
+        public static Mode fromParameter(String parameter) {
+            if (StringUtils.isBlank(parameter)) {
+                return SIMPLE;
+            }
+            try {
+                return valueOf(parameter.trim().replace('-', '_').toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidSearchQueryException("Unknown search mode '" + parameter + "'");
+            }
+        }
+    }
+
+    /**
+     * A query accepted by the analyzer.
+     */
+    public static final class AnalyzedQuery {
+
+        private final QueryBuilder query;
+
+        private final String normalizedQuery;
+
+        private final Mode mode;
+
+        private final int cost;
+
+        private AnalyzedQuery(QueryBuilder query, String normalizedQuery, Mode mode, int cost) {
+            this.query = query;
+            this.normalizedQuery = normalizedQuery;
+            this.mode = mode;
+            this.cost = cost;
+        }
+
+        public QueryBuilder getQuery() {
+            return query;
+        }
+
+        public String getNormalizedQuery() {
+            return normalizedQuery;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public int getCost() {
+            return cost;
+        }
+    }
+}
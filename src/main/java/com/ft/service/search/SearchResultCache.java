@@ -0,0 +1,68 @@
+package com.ft.service.search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded, least recently used cache of search results, tied to a {@link SearchIndexVersion}.
+ * <p>
+ * Entries are stored with the index version read before the search was run. Once the version has moved on,
+ * older entries are never returned again and the whole cache is dropped, so a result cannot be staler than
+ * the last write to the index.
+ *
+ * @param <V> the type of the cached results.
+ */
+public class SearchResultCache<V> {
+
+    private final Map<String, V> entries;
+
+    private long version = Long.MIN_VALUE;
+
+    public SearchResultCache(int maxEntries) {
+        this.entries =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+    }
+
+    /**
+     * Get the results cached for a query at a given index version.
+     *
+     * @param indexVersion the current version of the index.
+     * @param key the normalized query key.
+     * @return the cached results, if any.
+     */
+    public synchronized Optional<V> get(long indexVersion, String key) {
+        if (indexVersion != version) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    /**
+     * Cache the results of a query run at a given index version.
+     *
+     * @param indexVersion the version of the index read before the query was run.
+     * @param key the normalized query key.
+     * @param results the results of the query.
+     */
+    public synchronized void put(long indexVersion, String key, V results) {
+        if (indexVersion > version) {
+            entries.clear();
+            version = indexVersion;
+        } else if (indexVersion < version) {
+            return;
+        }
+        entries.put(key, results);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Search query analysis and cost control.
+ */
+package com.ft.service.search;
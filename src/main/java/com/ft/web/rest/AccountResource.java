@@ -18,7 +18,9 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for managing the current user's account.
@@ -95,14 +97,19 @@ public class AccountResource {
     /**
      * {@code GET  /account} : get the current user.
      *
-     * @return the current user.
+     * @param webRequest the web request, checked against the version of the current user.
+     * @return the current user, or no body with status {@code 304 (Not Modified)} if the user did not change.
      * @throws RuntimeException {@code 500 (Internal Server Error)} if the user couldn't be returned.
      */
     @GetMapping("/account")
-    public AdminUserDTO getAccount() {
+    public ResponseEntity<AdminUserDTO> getAccount(WebRequest webRequest) {
+        Optional<String> eTag = SecurityUtils.getCurrentUserLogin().flatMap(userService::getUserVersion).flatMap(UserEntityTags::of);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return UserEntityTags.notModified();
+        }
         return userService
             .getUserWithAuthorities()
-            .map(AdminUserDTO::new)
+            .map(user -> ResponseEntity.ok().cacheControl(UserEntityTags.CACHE_CONTROL).body(new AdminUserDTO(user)))
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
 
@@ -1,6 +1,8 @@
 package com.ft.web.rest;
 
 import com.ft.config.KafkaProperties;
+import com.ft.config.tracing.Span;
+import com.ft.config.tracing.Tracer;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -26,11 +28,13 @@ public class BlogKafkaResource {
     private final Logger log = LoggerFactory.getLogger(BlogKafkaResource.class);
 
     private final KafkaProperties kafkaProperties;
+    private final Tracer tracer;
     private KafkaProducer<String, String> producer;
     private ExecutorService sseExecutorService = Executors.newCachedThreadPool();
 
-    public BlogKafkaResource(KafkaProperties kafkaProperties) {
+    public BlogKafkaResource(KafkaProperties kafkaProperties, Tracer tracer) {
         this.kafkaProperties = kafkaProperties;
+        this.tracer = tracer;
         this.producer = new KafkaProducer<>(kafkaProperties.getProducerProps());
     }
 
@@ -38,7 +42,10 @@ public class BlogKafkaResource {
     public PublishResult publish(@PathVariable String topic, @RequestParam String message, @RequestParam(required = false) String key)
         throws ExecutionException, InterruptedException {
         log.debug("REST request to send to Kafka topic {} with key {} the message : {}", topic, key, message);
-        RecordMetadata metadata = producer.send(new ProducerRecord<>(topic, key, message)).get();
+        RecordMetadata metadata;
+        try (Span span = tracer.startSpan("kafka.send").tag("kafka.topic", topic)) {
+            metadata = producer.send(new ProducerRecord<>(topic, key, message)).get();
+        }
         return new PublishResult(metadata.topic(), metadata.partition(), metadata.offset(), Instant.ofEpochMilli(metadata.timestamp()));
     }
 
@@ -59,8 +66,13 @@ public class BlogKafkaResource {
                 while (!exitLoop) {
                     try {
                         ConsumerRecords<String, String> records = consumer.poll(Duration.ofSeconds(5));
-                        for (ConsumerRecord<String, String> record : records) {
-                            emitter.send(record.value());
+                        if (!records.isEmpty()) {
+                            // Each batch of consumed records is a trace of its own
+                            try (Span span = tracer.startSpan("kafka.consume").tag("kafka.records", String.valueOf(records.count()))) {
+                                for (ConsumerRecord<String, String> record : records) {
+                                    emitter.send(record.value());
+                                }
+                            }
                         }
                         emitter.send(SseEmitter.event().comment(""));
                     } catch (Exception ex) {
@@ -76,14 +88,14 @@ public class BlogKafkaResource {
         return emitter;
     }
 
-    private static class PublishResult {
+    public static final class PublishResult {
 
         public final String topic;
         public final int partition;
         public final long offset;
         public final Instant timestamp;
 
-        private PublishResult(String topic, int partition, long offset, Instant timestamp) {
+        public PublishResult(String topic, int partition, long offset, Instant timestamp) {
             this.topic = topic;
             this.partition = partition;
             this.offset = offset;
@@ -0,0 +1,114 @@
+package com.ft.web.rest;
+
+import com.ft.service.dto.KeysetPage;
+import com.ft.web.rest.errors.BadRequestAlertException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Opaque cursor of the keyset paginated endpoints.
+ * <p>
+ * A cursor holds the id to seek from and the direction of the page. It is encoded so that clients only pass back
+ * the values found in the {@code Link} header, and never build them.
+ */
+final class KeysetCursor {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private static final String CURSOR_PARAMETER = "cursor";
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private static final String AFTER = "a";
+
+    private static final String BEFORE = "b";
+
+    private final Long afterId;
+
+    private final Long beforeId;
+
+    private KeysetCursor(Long afterId, Long beforeId) {
+        this.afterId = afterId;
+        this.beforeId = beforeId;
+    }
+
+    /**
+     * Parse a cursor received from a client.
+     *
+     * @param cursor the cursor, empty for the first page.
+     * @return the parsed cursor.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the cursor is invalid.
+     */
+    static KeysetCursor parse(String cursor) {
+        if (StringUtils.isEmpty(cursor)) {
+            return new KeysetCursor(null, null);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String direction = StringUtils.substringBefore(decoded, ":");
+            long id = Long.parseLong(StringUtils.substringAfter(decoded, ":"));
+            if (AFTER.equals(direction)) {
+                return new KeysetCursor(id, null);
+            }
+            if (BEFORE.equals(direction)) {
+                return new KeysetCursor(null, id);
+            }
+        } catch (IllegalArgumentException e) {
+            // Invalid Base64 or id, handled below
+        }
+        throw new BadRequestAlertException("Invalid pagination cursor", "userManagement", "invalidcursor");
+    }
+
+    /**
+     * Bound a requested page size.
+     *
+     * @param size the requested size.
+     * @return the size to use.
+     */
+    static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Generate the pagination headers of a keyset page: a {@code Link} header with the next and previous cursors,
+     * and the total count when it was computed.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param page the page.
+     * @return the pagination headers.
+     */
+    static HttpHeaders generatePaginationHttpHeaders(UriComponentsBuilder uriBuilder, KeysetPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        page.getTotalCount().ifPresent(totalCount -> headers.add(HEADER_X_TOTAL_COUNT, Long.toString(totalCount)));
+        List<String> links = new ArrayList<>(2);
+        page.getNextAfterId().ifPresent(id -> links.add(prepareLink(uriBuilder, encode(AFTER, id), "next")));
+        page.getPreviousBeforeId().ifPresent(id -> links.add(prepareLink(uriBuilder, encode(BEFORE, id), "prev")));
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, String.join(",", links));
+        }
+        return headers;
+    }
+
+    private static String encode(String direction, long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((direction + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, String cursor, String relType) {
+        return "<" + uriBuilder.replaceQueryParam(CURSOR_PARAMETER, cursor).toUriString() + ">; rel=\"" + relType + "\"";
+    }
+
+    Long getAfterId() {
+        return afterId;
+    }
+
+    Long getBeforeId() {
+        return beforeId;
+    }
+}
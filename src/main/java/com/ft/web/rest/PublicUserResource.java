@@ -1,14 +1,12 @@
 package com.ft.web.rest;
 
-import static org.elasticsearch.index.query.QueryBuilders.*;
-
-import com.ft.repository.search.UserSearchRepository;
+import com.ft.service.UserSearchService;
 import com.ft.service.UserService;
+import com.ft.service.dto.KeysetPage;
 import com.ft.service.dto.UserDTO;
+import com.ft.service.search.SearchQueryAnalyzer;
 import java.util.*;
 import java.util.Collections;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -18,6 +16,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.PaginationUtil;
 
@@ -33,28 +32,63 @@ public class PublicUserResource {
 
     private final UserService userService;
 
-    private final UserSearchRepository userSearchRepository;
+    private final UserSearchService userSearchService;
 
-    public PublicUserResource(UserService userService, UserSearchRepository userSearchRepository) {
+    public PublicUserResource(UserService userService, UserSearchService userSearchService) {
         this.userService = userService;
-        this.userSearchRepository = userSearchRepository;
+        this.userSearchService = userSearchService;
     }
 
     /**
      * {@code GET /users} : get all users with only the public informations - calling this are allowed for anyone.
      *
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users.
+     * @param webRequest the web request, checked against the version of the public users.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body all users, or with status
+     * {@code 304 (Not Modified)} and no body if no public user changed.
      */
     @GetMapping("/users")
-    public ResponseEntity<List<UserDTO>> getAllPublicUsers(Pageable pageable) {
+    public ResponseEntity<List<UserDTO>> getAllPublicUsers(Pageable pageable, WebRequest webRequest) {
         log.debug("REST request to get all public User names");
         if (!onlyContainsAllowedProperties(pageable)) {
             return ResponseEntity.badRequest().build();
         }
+        if (webRequest.checkNotModified(UserEntityTags.ofPublicUsers(userService.getPublicUsersVersion()))) {
+            return UserEntityTags.notModified();
+        }
 
         final Page<UserDTO> page = userService.getAllPublicUsers(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        headers.setCacheControl(UserEntityTags.CACHE_CONTROL);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET /users?cursor=} : get all users with only the public informations, using keyset pagination - calling this are allowed for anyone.
+     * <p>
+     * Users are ordered by id. The first page is requested with an empty cursor, and the next and previous pages
+     * with the cursors given in the {@code Link} header. No count query is run unless {@code count} is set.
+     *
+     * @param cursor the opaque cursor of the page, empty for the first page.
+     * @param size the page size.
+     * @param count whether the total number of users should be returned in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the page of users.
+     */
+    @GetMapping(value = "/users", params = "cursor")
+    public ResponseEntity<List<UserDTO>> getAllPublicUsersByCursor(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+        @RequestParam(defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a keyset page of public User names");
+        KeysetCursor keysetCursor = KeysetCursor.parse(cursor);
+        final KeysetPage<UserDTO> page = userService.getAllPublicUsers(
+            keysetCursor.getAfterId(),
+            keysetCursor.getBeforeId(),
+            KeysetCursor.pageSize(size),
+            count
+        );
+        HttpHeaders headers = KeysetCursor.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
@@ -73,15 +107,18 @@ public class PublicUserResource {
 
     /**
      * {@code SEARCH /_search/users/:query} : search for the User corresponding to the query.
+     * <p>
+     * By default the query uses the {@code simple_query_string} syntax on a whitelist of fields. The full
+     * {@code query_string} syntax is only available with {@code mode=query_string}, when enabled in the configuration.
      *
      * @param query the query to search.
+     * @param mode the query syntax, {@code simple} or {@code query_string}.
+     * @param pageable the pagination information.
      * @return the result of the search.
      */
     @GetMapping("/_search/users/{query}")
-    public List<UserDTO> search(@PathVariable String query) {
-        return StreamSupport
-            .stream(userSearchRepository.search(queryStringQuery(query)).spliterator(), false)
-            .map(UserDTO::new)
-            .collect(Collectors.toList());
+    public List<UserDTO> search(@PathVariable String query, @RequestParam(required = false) String mode, Pageable pageable) {
+        log.debug("REST request to search Users for query {}", query);
+        return userSearchService.search(query, SearchQueryAnalyzer.Mode.fromParameter(mode), pageable);
     }
 }
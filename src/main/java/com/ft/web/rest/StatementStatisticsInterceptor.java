@@ -0,0 +1,89 @@
+package com.ft.web.rest;
+
+import com.ft.config.jdbc.StatementStatistics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Collects the {@link StatementStatistics} of each REST request, and exports them tagged with the handler method,
+ * such as {@code UserResource.getAllUsers}.
+ * <p>
+ * Requests running more statements than allowed are logged, this is usually the sign of lazy associations loaded
+ * one entity at a time. The statements run after the handler starts asynchronous processing are not collected.
+ */
+public class StatementStatisticsInterceptor implements AsyncHandlerInterceptor {
+
+    private final Logger log = LoggerFactory.getLogger(StatementStatisticsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration slowStatementThreshold;
+
+    private final int maxStatements;
+
+    public StatementStatisticsInterceptor(MeterRegistry meterRegistry, Duration slowStatementThreshold, int maxStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowStatementThreshold = slowStatementThreshold;
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            StatementStatistics.start(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName(), slowStatementThreshold);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        StatementStatistics.stop();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        StatementStatistics statistics = StatementStatistics.stop();
+        if (statistics == null) {
+            return;
+        }
+        DistributionSummary
+            .builder("http.server.requests.sql.statements")
+            .description("SQL statements run by a request")
+            .tag("handler", statistics.getName())
+            .register(meterRegistry)
+            .record(statistics.getCount());
+        Timer
+            .builder("http.server.requests.sql.time")
+            .description("Time spent running the SQL statements of a request")
+            .tag("handler", statistics.getName())
+            .register(meterRegistry)
+            .record(statistics.getTotalTime());
+        Timer
+            .builder("http.server.requests.sql.slowest")
+            .description("Slowest SQL statement of a request")
+            .tag("handler", statistics.getName())
+            .register(meterRegistry)
+            .record(statistics.getSlowestTime());
+        if (statistics.getCount() > maxStatements) {
+            log.warn(
+                "{} ran {} statements, more than the {} allowed, in {}ms, slowest: {}",
+                statistics.getName(),
+                statistics.getCount(),
+                maxStatements,
+                statistics.getTotalTime().toMillis(),
+                statistics.getSlowestSql()
+            );
+        } else {
+            log.debug("{} ran {} statements in {}ms", statistics.getName(), statistics.getCount(), statistics.getTotalTime().toMillis());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ft.web.rest;
+
+import com.ft.config.jdbc.StatementStatistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the number of SQL statements run by the request, and the time spent running them, as the {@code X-Sql-Count}
+ * and {@code X-Sql-Time} headers of REST responses. Only meant for development.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "application.statement-statistics", name = "response-headers", havingValue = "true")
+public class StatementStatisticsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+        Object body,
+        MethodParameter returnType,
+        MediaType selectedContentType,
+        Class<? extends HttpMessageConverter<?>> selectedConverterType,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        StatementStatistics statistics = StatementStatistics.current();
+        if (statistics != null) {
+            response.getHeaders().set("X-Sql-Count", String.valueOf(statistics.getCount()));
+            response.getHeaders().set("X-Sql-Time", String.valueOf(statistics.getTotalTime().toMillis()));
+        }
+        return body;
+    }
+}
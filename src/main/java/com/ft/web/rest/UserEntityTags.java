@@ -0,0 +1,68 @@
+package com.ft.web.rest;
+
+import com.ft.repository.UserRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Weak entity tags of the user resources, built from the versions of the users instead of their representations.
+ * <p>
+ * A version is read with one cheap lookup, so that a request whose {@code If-None-Match} header matches is answered
+ * with {@code 304 (Not Modified)} before the users are loaded and serialized. The version of a user is read from the
+ * database, the version of the public users is the counter of the user writes, see
+ * {@link com.ft.service.UserService#getPublicUsersVersion()}.
+ * <p>
+ * The last modification dates may be stored with a precision of one second, so two updates of a user within the same
+ * second can leave the same version: no tag is given to a user version more recent than that.
+ * <p>
+ * The responses are sent with {@link #CACHE_CONTROL}, so that Spring Security does not forbid caching them.
+ */
+final class UserEntityTags {
+
+    /**
+     * Lets the browser keep the representations, revalidated on each use, but not the shared caches.
+     */
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private static final Duration TIMESTAMP_PRECISION = Duration.ofSeconds(1);
+
+    private UserEntityTags() {}
+
+    /**
+     * The response to a request whose {@code If-None-Match} header matched, already checked by
+     * {@link org.springframework.web.context.request.WebRequest#checkNotModified(String)}.
+     *
+     * @param <T> the type of the body.
+     * @return the {@code 304 (Not Modified)} response, without body.
+     */
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CONTROL).build();
+    }
+
+    static Optional<String> of(UserRepository.UserVersion version) {
+        if (isRecent(version.getLastModifiedDate())) {
+            return Optional.empty();
+        }
+        return Optional.of(weak("user-" + version.getId() + "-" + toEpochSecond(version.getLastModifiedDate())));
+    }
+
+    static String ofPublicUsers(long version) {
+        return weak("users-" + version);
+    }
+
+    private static boolean isRecent(Instant lastModifiedDate) {
+        return lastModifiedDate != null && lastModifiedDate.isAfter(Instant.now().minus(TIMESTAMP_PRECISION));
+    }
+
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+
+    private static long toEpochSecond(Instant instant) {
+        return instant != null ? instant.getEpochSecond() : 0;
+    }
+}
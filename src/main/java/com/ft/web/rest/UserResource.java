@@ -7,17 +7,25 @@ import com.ft.domain.User;
 import com.ft.repository.UserRepository;
 import com.ft.security.AuthoritiesConstants;
 import com.ft.service.MailService;
+import com.ft.service.UserExportService;
+import com.ft.service.UserFileFormat;
+import com.ft.service.UserImportService;
 import com.ft.service.UserService;
 import com.ft.service.dto.AdminUserDTO;
+import com.ft.service.dto.KeysetPage;
+import com.ft.service.dto.UserImportResult;
 import com.ft.web.rest.errors.BadRequestAlertException;
 import com.ft.web.rest.errors.EmailAlreadyUsedException;
 import com.ft.web.rest.errors.LoginAlreadyUsedException;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
 import java.util.Collections;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Pattern;
 import org.slf4j.Logger;
@@ -31,6 +39,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -91,10 +100,22 @@ public class UserResource {
 
     private final MailService mailService;
 
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    private final UserExportService userExportService;
+
+    private final UserImportService userImportService;
+
+    public UserResource(
+        UserService userService,
+        UserRepository userRepository,
+        MailService mailService,
+        UserExportService userExportService,
+        UserImportService userImportService
+    ) {
         this.userService = userService;
         this.userRepository = userRepository;
         this.mailService = mailService;
+        this.userExportService = userExportService;
+        this.userImportService = userImportService;
     }
 
     /**
@@ -178,6 +199,90 @@ public class UserResource {
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET /admin/users?cursor=} : get all users with all the details, using keyset pagination - calling this are only allowed for the administrators.
+     * <p>
+     * Users are ordered by id. The first page is requested with an empty cursor, and the next and previous pages
+     * with the cursors given in the {@code Link} header. No count query is run unless {@code count} is set.
+     *
+     * @param cursor the opaque cursor of the page, empty for the first page.
+     * @param size the page size.
+     * @param count whether the total number of users should be returned in the {@code X-Total-Count} header.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the page of users.
+     */
+    @GetMapping(value = "/users", params = "cursor")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<AdminUserDTO>> getAllUsersByCursor(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+        @RequestParam(defaultValue = "false") boolean count
+    ) {
+        log.debug("REST request to get a keyset page of User for an admin");
+        KeysetCursor keysetCursor = KeysetCursor.parse(cursor);
+        final KeysetPage<AdminUserDTO> page = userService.getAllManagedUsers(
+            keysetCursor.getAfterId(),
+            keysetCursor.getBeforeId(),
+            KeysetCursor.pageSize(size),
+            count
+        );
+        HttpHeaders headers = KeysetCursor.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET /admin/users/export} : export all users with all the details - calling this are only allowed for the administrators.
+     * <p>
+     * Users are streamed to the response while they are read from the database.
+     *
+     * @param format the export format, {@code ndjson} (the default) or {@code csv}.
+     * @param response the response to write the users to.
+     * @throws IOException if the response cannot be written.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @GetMapping("/users/export")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public void exportUsers(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all Users as {}", format);
+        UserFileFormat exportFormat = parseFileFormat(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"users." + exportFormat.name().toLowerCase(Locale.ENGLISH) + "\""
+        );
+        userExportService.exportUsers(exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * {@code POST /admin/users/import} : import users in bulk - calling this are only allowed for the administrators.
+     * <p>
+     * The request body holds the users, in the same formats as the export. Users without a password get a random one
+     * and a reset key, no email is sent to them.
+     *
+     * @param format the import format, {@code ndjson} (the default) or {@code csv}.
+     * @param request the request to read the users from.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the numbers of imported and rejected users.
+     * @throws IOException if the request cannot be read.
+     * @throws BadRequestAlertException {@code 400 (Bad Request)} if the format is not supported.
+     */
+    @PostMapping("/users/import")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<UserImportResult> importUsers(@RequestParam(defaultValue = "ndjson") String format, HttpServletRequest request)
+        throws IOException {
+        log.debug("REST request to import Users as {}", format);
+        UserFileFormat importFormat = parseFileFormat(format);
+        UserImportResult result = userImportService.importUsers(importFormat, request.getInputStream());
+        return ResponseEntity.ok(result);
+    }
+
+    private UserFileFormat parseFileFormat(String format) {
+        try {
+            return UserFileFormat.valueOf(format.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Unsupported file format", "userManagement", "invalidfileformat");
+        }
+    }
+
     private boolean onlyContainsAllowedProperties(Pageable pageable) {
         return pageable.getSort().stream().map(Sort.Order::getProperty).allMatch(ALLOWED_ORDERED_PROPERTIES::contains);
     }
@@ -186,13 +291,24 @@ public class UserResource {
      * {@code GET /admin/users/:login} : get the "login" user.
      *
      * @param login the login of the user to find.
+     * @param webRequest the web request, checked against the version of the user.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the "login" user, or with status {@code 404 (Not Found)}.
+     * Its status is {@code 304 (Not Modified)}, without body, if the user did not change.
      */
     @GetMapping("/users/{login}")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
-    public ResponseEntity<AdminUserDTO> getUser(@PathVariable @Pattern(regexp = Constants.LOGIN_REGEX) String login) {
+    public ResponseEntity<AdminUserDTO> getUser(
+        @PathVariable @Pattern(regexp = Constants.LOGIN_REGEX) String login,
+        WebRequest webRequest
+    ) {
         log.debug("REST request to get User : {}", login);
-        return ResponseUtil.wrapOrNotFound(userService.getUserWithAuthoritiesByLogin(login).map(AdminUserDTO::new));
+        Optional<String> eTag = userService.getUserVersion(login).flatMap(UserEntityTags::of);
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return UserEntityTags.notModified();
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(UserEntityTags.CACHE_CONTROL);
+        return ResponseUtil.wrapOrNotFound(userService.getUserWithAuthoritiesByLogin(login).map(AdminUserDTO::new), headers);
     }
 
     /**
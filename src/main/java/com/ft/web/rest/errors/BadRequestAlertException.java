@@ -38,4 +38,12 @@ public class BadRequestAlertException extends AbstractThrowableProblem {
         parameters.put("params", entityName);
         return parameters;
     }
+
+    /**
+     * Bad requests are expected, and answered without their stack trace, so it is not captured.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -1,9 +1,12 @@
 package com.ft.web.rest.errors;
 
+import com.ft.service.InvalidSearchQueryException;
 import java.net.URI;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -16,16 +19,21 @@ import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.zalando.problem.DefaultProblem;
 import org.zalando.problem.Problem;
 import org.zalando.problem.ProblemBuilder;
 import org.zalando.problem.Status;
 import org.zalando.problem.StatusType;
+import org.zalando.problem.ThrowableProblem;
+import org.zalando.problem.spring.common.HttpStatusAdapter;
 import org.zalando.problem.spring.web.advice.ProblemHandling;
 import org.zalando.problem.spring.web.advice.security.SecurityAdviceTrait;
 import org.zalando.problem.violations.ConstraintViolationProblem;
@@ -55,6 +63,9 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
 
     /**
      * Post-process the Problem payload to add the message key for the front-end if needed.
+     * <p>
+     * Problems without a cause are rebuilt as {@link PreSerializedProblem}, which do not capture a stack trace and
+     * share the JSON of their fixed members.
      */
     @Override
     public ResponseEntity<Problem> process(@Nullable ResponseEntity<Problem> entity, NativeWebRequest request) {
@@ -66,25 +77,53 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
             return entity;
         }
 
-        HttpServletRequest nativeRequest = request.getNativeRequest(HttpServletRequest.class);
-        String requestUri = nativeRequest != null ? nativeRequest.getRequestURI() : StringUtils.EMPTY;
+        String requestUri = getRequestUri(request);
+        URI type = Problem.DEFAULT_TYPE.equals(problem.getType()) ? ErrorConstants.DEFAULT_TYPE : problem.getType();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put(PATH_KEY, requestUri);
+
+        if (problem instanceof ConstraintViolationProblem) {
+            parameters.put(VIOLATIONS_KEY, ((ConstraintViolationProblem) problem).getViolations());
+            Problem body = PreSerializedProblem.of(
+                type,
+                problem.getTitle(),
+                problem.getStatus(),
+                null,
+                null,
+                ErrorConstants.ERR_VALIDATION,
+                parameters
+            );
+            return new ResponseEntity<>(body, entity.getHeaders(), entity.getStatusCode());
+        }
+
+        ThrowableProblem cause = ((DefaultProblem) problem).getCause();
+        if (cause == null && problem.getStatus() != null) {
+            problem.getParameters().forEach(parameters::putIfAbsent);
+            Object message = parameters.remove(MESSAGE_KEY);
+            Problem body = PreSerializedProblem.of(
+                type,
+                problem.getTitle(),
+                problem.getStatus(),
+                problem.getDetail(),
+                problem.getInstance(),
+                message != null ? message : "error.http." + problem.getStatus().getStatusCode(),
+                parameters
+            );
+            return new ResponseEntity<>(body, entity.getHeaders(), entity.getStatusCode());
+        }
+
         ProblemBuilder builder = Problem
             .builder()
-            .withType(Problem.DEFAULT_TYPE.equals(problem.getType()) ? ErrorConstants.DEFAULT_TYPE : problem.getType())
+            .withType(type)
             .withStatus(problem.getStatus())
             .withTitle(problem.getTitle())
-            .with(PATH_KEY, requestUri);
-
-        if (problem instanceof ConstraintViolationProblem) {
-            builder
-                .with(VIOLATIONS_KEY, ((ConstraintViolationProblem) problem).getViolations())
-                .with(MESSAGE_KEY, ErrorConstants.ERR_VALIDATION);
-        } else {
-            builder.withCause(((DefaultProblem) problem).getCause()).withDetail(problem.getDetail()).withInstance(problem.getInstance());
-            problem.getParameters().forEach(builder::with);
-            if (!problem.getParameters().containsKey(MESSAGE_KEY) && problem.getStatus() != null) {
-                builder.with(MESSAGE_KEY, "error.http." + problem.getStatus().getStatusCode());
-            }
+            .with(PATH_KEY, requestUri)
+            .withCause(cause)
+            .withDetail(problem.getDetail())
+            .withInstance(problem.getInstance());
+        problem.getParameters().forEach(builder::with);
+        if (!problem.getParameters().containsKey(MESSAGE_KEY) && problem.getStatus() != null) {
+            builder.with(MESSAGE_KEY, "error.http." + problem.getStatus().getStatusCode());
         }
         return new ResponseEntity<>(builder.build(), entity.getHeaders(), entity.getStatusCode());
     }
@@ -105,17 +144,39 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
             )
             .collect(Collectors.toList());
 
-        Problem problem = Problem
-            .builder()
-            .withType(ErrorConstants.CONSTRAINT_VIOLATION_TYPE)
-            .withTitle("Method argument not valid")
-            .withStatus(defaultConstraintViolationStatus())
-            .with(MESSAGE_KEY, ErrorConstants.ERR_VALIDATION)
-            .with(FIELD_ERRORS_KEY, fieldErrors)
-            .build();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put(PATH_KEY, getRequestUri(request));
+        parameters.put(FIELD_ERRORS_KEY, fieldErrors);
+        Problem problem = PreSerializedProblem.of(
+            ErrorConstants.CONSTRAINT_VIOLATION_TYPE,
+            "Method argument not valid",
+            defaultConstraintViolationStatus(),
+            null,
+            null,
+            ErrorConstants.ERR_VALIDATION,
+            parameters
+        );
         return create(ex, problem, request);
     }
 
+    @Override
+    public ResponseEntity<Problem> handleAuthentication(AuthenticationException ex, NativeWebRequest request) {
+        return create(ex, createLightweightProblem(ex, Status.UNAUTHORIZED, request), request);
+    }
+
+    @Override
+    public ResponseEntity<Problem> handleAccessDenied(AccessDeniedException ex, NativeWebRequest request) {
+        return create(ex, createLightweightProblem(ex, Status.FORBIDDEN, request), request);
+    }
+
+    @Override
+    public ResponseEntity<Problem> handleResponseStatusException(ResponseStatusException ex, NativeWebRequest request) {
+        if (ex.getCause() != null) {
+            return ProblemHandling.super.handleResponseStatusException(ex, request);
+        }
+        return create(ex, createLightweightProblem(ex, new HttpStatusAdapter(ex.getStatus()), request), request);
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleEmailAlreadyUsedException(com.ft.service.EmailAlreadyUsedException ex, NativeWebRequest request) {
         EmailAlreadyUsedException problem = new EmailAlreadyUsedException();
@@ -144,6 +205,14 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
         return create(new InvalidPasswordException(), request);
     }
 
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleInvalidSearchQueryException(InvalidSearchQueryException ex, NativeWebRequest request) {
+        return handleBadRequestAlertException(
+            new BadRequestAlertException(ex.getMessage(), "userManagement", "invalidsearchquery"),
+            request
+        );
+    }
+
     @ExceptionHandler
     public ResponseEntity<Problem> handleBadRequestAlertException(BadRequestAlertException ex, NativeWebRequest request) {
         return create(
@@ -161,9 +230,7 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
 
     @Override
     public ProblemBuilder prepare(final Throwable throwable, final StatusType status, final URI type) {
-        Collection<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
-
-        if (activeProfiles.contains(JHipsterConstants.SPRING_PROFILE_PRODUCTION)) {
+        if (isProduction()) {
             if (throwable instanceof HttpMessageConversionException) {
                 return Problem
                     .builder()
@@ -210,6 +277,35 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
             );
     }
 
+    /**
+     * Create the problem of an exception without a cause, as {@link #prepare} and {@link #process} would, but without
+     * building an intermediate {@link DefaultProblem} and its stack trace.
+     */
+    private Problem createLightweightProblem(Throwable throwable, StatusType status, NativeWebRequest request) {
+        String detail = throwable.getMessage();
+        if (isProduction() && containsPackageName(detail)) {
+            detail = "Unexpected runtime exception";
+        }
+        return PreSerializedProblem.of(
+            ErrorConstants.DEFAULT_TYPE,
+            status.getReasonPhrase(),
+            status,
+            detail,
+            null,
+            "error.http." + status.getStatusCode(),
+            Collections.singletonMap(PATH_KEY, getRequestUri(request))
+        );
+    }
+
+    private static String getRequestUri(NativeWebRequest request) {
+        HttpServletRequest nativeRequest = request.getNativeRequest(HttpServletRequest.class);
+        return nativeRequest != null ? nativeRequest.getRequestURI() : StringUtils.EMPTY;
+    }
+
+    private boolean isProduction() {
+        return Arrays.asList(env.getActiveProfiles()).contains(JHipsterConstants.SPRING_PROFILE_PRODUCTION);
+    }
+
     private boolean containsPackageName(String message) {
         // This list is for sure not complete
         return StringUtils.containsAny(message, "org.", "java.", "net.", "javax.", "com.", "io.", "de.", "com.ft");
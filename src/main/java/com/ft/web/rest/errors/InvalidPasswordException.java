@@ -10,4 +10,12 @@ public class InvalidPasswordException extends AbstractThrowableProblem {
     public InvalidPasswordException() {
         super(ErrorConstants.INVALID_PASSWORD_TYPE, "Incorrect password", Status.BAD_REQUEST);
     }
+
+    /**
+     * The stack trace is never rendered in the problem, so it is not captured.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
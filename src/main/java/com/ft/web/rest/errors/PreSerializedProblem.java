@@ -0,0 +1,199 @@
+package com.ft.web.rest.errors;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.JsonGeneratorImpl;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+import org.zalando.problem.Problem;
+import org.zalando.problem.StatusType;
+
+/**
+ * A {@link Problem} whose fixed members are serialized once, and reused by all the problems with the same members.
+ * <p>
+ * The type, title, status, detail, instance and message of a problem only take a few distinct values, so their JSON
+ * is cached, and only the other parameters, such as the path of the request, are serialized for each response. Unlike
+ * the problems built by {@link org.zalando.problem.ProblemBuilder}, it is not a {@link Throwable}, so no stack trace
+ * is captured when it is created.
+ */
+final class PreSerializedProblem implements Problem, JsonSerializable {
+
+    private static final int MAX_CACHED_MEMBERS = 256;
+
+    private static final String MESSAGE_KEY = "message";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Map<List<Object>, Members> CACHE = new ConcurrentHashMap<>();
+
+    private final Members members;
+
+    private final Map<String, Object> parameters;
+
+    private PreSerializedProblem(Members members, Map<String, Object> parameters) {
+        this.members = members;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Create a problem.
+     *
+     * @param type the type of the problem.
+     * @param title the title of the problem.
+     * @param status the status of the problem.
+     * @param detail the detail of the problem, or {@code null}.
+     * @param instance the instance of the problem, or {@code null}.
+     * @param message the message key of the problem, for the front-end, or {@code null}.
+     * @param parameters the other parameters of the problem, serialized for each response.
+     * @return the problem.
+     */
+    static PreSerializedProblem of(
+        URI type,
+        @Nullable String title,
+        StatusType status,
+        @Nullable String detail,
+        @Nullable URI instance,
+        @Nullable Object message,
+        Map<String, Object> parameters
+    ) {
+        List<Object> key = Arrays.asList(type, title, status.getStatusCode(), detail, instance, message);
+        Members members = CACHE.get(key);
+        if (members == null) {
+            members = new Members(type, title, status, detail, instance, message);
+            // Details may hold user input, so the cache is bounded instead of holding every value ever seen
+            if (CACHE.size() < MAX_CACHED_MEMBERS) {
+                CACHE.putIfAbsent(key, members);
+            }
+        }
+        return new PreSerializedProblem(members, parameters);
+    }
+
+    @Override
+    public URI getType() {
+        return members.type;
+    }
+
+    @Override
+    public String getTitle() {
+        return members.title;
+    }
+
+    @Override
+    public StatusType getStatus() {
+        return members.status;
+    }
+
+    @Override
+    public String getDetail() {
+        return members.detail;
+    }
+
+    @Override
+    public URI getInstance() {
+        return members.instance;
+    }
+
+    @Override
+    public Map<String, Object> getParameters() {
+        Map<String, Object> all = new LinkedHashMap<>();
+        if (members.message != null) {
+            all.put(MESSAGE_KEY, members.message);
+        }
+        all.putAll(parameters);
+        return Collections.unmodifiableMap(all);
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        if (gen instanceof JsonGeneratorImpl) {
+            // The generator does not track raw content, so the separator of the next field is written by hand
+            gen.writeRaw(members.json);
+            if (!parameters.isEmpty()) {
+                gen.writeRaw(',');
+            }
+        } else {
+            members.write(gen);
+        }
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            gen.writeObjectField(parameter.getKey(), parameter.getValue());
+        }
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+        // The type id of a problem is its existing type member
+        serialize(gen, serializers);
+    }
+
+    private static final class Members {
+
+        private final URI type;
+
+        private final String title;
+
+        private final StatusType status;
+
+        private final String detail;
+
+        private final URI instance;
+
+        private final Object message;
+
+        /**
+         * The members as JSON fields, without the enclosing braces.
+         */
+        private final String json;
+
+        Members(URI type, String title, StatusType status, String detail, URI instance, Object message) {
+            this.type = type;
+            this.title = title;
+            this.status = status;
+            this.detail = detail;
+            this.instance = instance;
+            this.message = message;
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator gen = JSON_FACTORY.createGenerator(writer)) {
+                gen.writeStartObject();
+                write(gen);
+                gen.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            String object = writer.toString();
+            this.json = object.substring(1, object.length() - 1);
+        }
+
+        void write(JsonGenerator gen) throws IOException {
+            if (!Problem.DEFAULT_TYPE.equals(type)) {
+                gen.writeStringField("type", type.toString());
+            }
+            if (title != null) {
+                gen.writeStringField("title", title);
+            }
+            gen.writeNumberField("status", status.getStatusCode());
+            if (detail != null) {
+                gen.writeStringField("detail", detail);
+            }
+            if (instance != null) {
+                gen.writeStringField("instance", instance.toString());
+            }
+            if (message != null) {
+                gen.writeStringField(MESSAGE_KEY, message.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.ft.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsProperties;
+import org.springframework.boot.actuate.autoconfigure.metrics.PropertiesMeterFilter;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Test class for the {@link SampledTimingAspect}.
+ */
+class SampledTimingAspectTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRecordsSampledCallsWithTags() throws Throwable {
+        SampledTimingAspect aspect = aspect(1.0, false);
+
+        assertThat(aspect.timeAround(joinPoint(SampleService.class, "find", null))).isEqualTo("result");
+        aspect.timeAround(joinPoint(SampleService.class, "find", null));
+
+        Timer timer = meterRegistry
+            .get("method.timed")
+            .tag("class", "SampleService")
+            .tag("method", "find")
+            .tag("exception", "none")
+            .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(meterRegistry.find("method.timed").timers()).hasSize(1);
+    }
+
+    @Test
+    void testRecordsAndReusesExceptionTimers() throws Throwable {
+        SampledTimingAspect aspect = aspect(1.0, false);
+        IllegalStateException exception = new IllegalStateException("boom");
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> aspect.timeAround(joinPoint(SampleService.class, "find", exception))).isSameAs(exception);
+        }
+
+        Timer timer = meterRegistry.get("method.timed").tag("method", "find").tag("exception", "IllegalStateException").timer();
+        assertThat(timer.count()).isEqualTo(3);
+        assertThat(meterRegistry.find("method.timed").tag("exception", "none").timer()).isNull();
+    }
+
+    @Test
+    void testSkipsCallsWhichAreNotSampled() throws Throwable {
+        SampledTimingAspect aspect = aspect(0.0, false);
+
+        assertThat(aspect.timeAround(joinPoint(SampleService.class, "find", null))).isEqualTo("result");
+
+        assertThat(meterRegistry.find("method.timed").timers()).isEmpty();
+    }
+
+    @Test
+    void testPublishesHistogramForRestMethodsOnlyWhenEnabled() throws Throwable {
+        SampledTimingAspect aspect = aspect(1.0, true);
+
+        aspect.timeAround(joinPoint(SampleResource.class, "get", null));
+        aspect.timeAround(joinPoint(SampleService.class, "find", null));
+
+        HistogramSnapshot resource = meterRegistry.get("method.timed").tag("class", "SampleResource").timer().takeSnapshot();
+        assertThat(resource.histogramCounts()).isNotEmpty();
+        assertThat(resource.percentileValues()).isEmpty();
+        HistogramSnapshot service = meterRegistry.get("method.timed").tag("class", "SampleService").timer().takeSnapshot();
+        assertThat(service.histogramCounts()).isEmpty();
+        assertThat(service.percentileValues()).isEmpty();
+    }
+
+    @Test
+    void testDoesNotPublishHistogramByDefault() throws Throwable {
+        SampledTimingAspect aspect = aspect(1.0, false);
+
+        aspect.timeAround(joinPoint(SampleResource.class, "get", null));
+        aspect.timeAround(joinPoint(SampleService.class, "find", null));
+
+        assertThat(meterRegistry.get("method.timed").tag("class", "SampleResource").timer().takeSnapshot().histogramCounts()).isEmpty();
+        assertThat(meterRegistry.get("method.timed").tag("class", "SampleService").timer().takeSnapshot().histogramCounts()).isEmpty();
+    }
+
+    @Test
+    void testKeepsDistributionOfOtherTimers() {
+        aspect(1.0, false);
+
+        Timer timer = Timer.builder("http.server.requests").register(meterRegistry);
+        timer.record(1, TimeUnit.MILLISECONDS);
+
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(timer.takeSnapshot().percentileValues()).hasSize(6);
+    }
+
+    /**
+     * Configures the registry like application.yml does, with percentile histograms and percentiles for all timers.
+     */
+    private SampledTimingAspect aspect(double sampleRate, boolean percentileHistogram) {
+        MetricsProperties properties = new MetricsProperties();
+        properties.getDistribution().getPercentilesHistogram().put("all", true);
+        properties.getDistribution().getPercentiles().put("all", new double[] { 0, 0.5, 0.75, 0.95, 0.99, 1.0 });
+        SampledTimingMeterFilter meterFilter = new SampledTimingMeterFilter(percentileHistogram);
+        meterRegistry.config().meterFilter(new PropertiesMeterFilter(properties)).meterFilter(meterFilter);
+        return new SampledTimingAspect(meterRegistry, meterFilter, sampleRate, false);
+    }
+
+    private static ProceedingJoinPoint joinPoint(Class<?> type, String methodName, Throwable exception) throws Throwable {
+        Method method = type.getDeclaredMethod(methodName);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(method);
+        when(signature.getDeclaringTypeName()).thenReturn(type.getName());
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[0]);
+        if (exception == null) {
+            when(joinPoint.proceed()).thenReturn("result");
+        } else {
+            when(joinPoint.proceed()).thenThrow(exception);
+        }
+        return joinPoint;
+    }
+
+    @Service
+    static class SampleService {
+
+        String find() {
+            return "result";
+        }
+    }
+
+    @RestController
+    static class SampleResource {
+
+        String get() {
+            return "result";
+        }
+    }
+}
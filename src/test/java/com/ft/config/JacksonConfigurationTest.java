@@ -0,0 +1,57 @@
+package com.ft.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ft.service.dto.AdminUserDTO;
+import com.ft.service.dto.UserDTO;
+import com.ft.web.rest.BlogKafkaResource.PublishResult;
+import com.ft.web.websocket.dto.ActivityDTO;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link JacksonConfiguration}.
+ */
+class JacksonConfigurationTest {
+
+    private final JacksonConfiguration jacksonConfiguration = new JacksonConfiguration();
+
+    @Test
+    void testAfterburnerSerializesLikeReflection() throws Exception {
+        ObjectMapper reflection = mapper();
+        ObjectMapper afterburner = mapper().registerModule(jacksonConfiguration.afterburnerModule());
+
+        AdminUserDTO adminUser = new AdminUserDTO();
+        adminUser.setId(1L);
+        adminUser.setLogin("admin");
+        adminUser.setActivated(true);
+        adminUser.setCreatedDate(Instant.parse("2021-06-01T10:00:00Z"));
+        adminUser.setAuthorities(Set.of("ROLE_ADMIN"));
+        ActivityDTO activity = new ActivityDTO();
+        activity.setUserLogin("admin");
+        activity.setTime(Instant.parse("2021-06-02T10:00:00Z"));
+        List<Object> values = List.of(
+            adminUser,
+            List.of(new UserDTO(1L, "admin"), new UserDTO(2L, "user")),
+            activity,
+            new PublishResult("blog", 2, 42L, Instant.parse("2021-06-02T10:00:00Z"))
+        );
+
+        for (Object value : values) {
+            assertThat(afterburner.writeValueAsString(value)).isEqualTo(reflection.writeValueAsString(value));
+        }
+        AdminUserDTO read = afterburner.readValue(afterburner.writeValueAsString(adminUser), AdminUserDTO.class);
+        assertThat(read.getLogin()).isEqualTo("admin");
+        assertThat(read.getCreatedDate()).isEqualTo(adminUser.getCreatedDate());
+    }
+
+    private ObjectMapper mapper() {
+        return new ObjectMapper()
+            .registerModules(jacksonConfiguration.javaTimeModule(), jacksonConfiguration.jdk8TimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
@@ -0,0 +1,132 @@
+package com.ft.config.compression;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Test class for the {@link CompressionFilter}.
+ */
+class CompressionFilterTest {
+
+    private static final String LARGE_JSON = "[" + "{\"login\":\"user\",\"activated\":true},".repeat(200) + "{}]";
+
+    private MeterRegistry meterRegistry;
+
+    private CompressionFilter filter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new CompressionFilter(List.of("application/json", "text/event-stream"), 1024, 6, meterRegistry);
+        request = new MockHttpServletRequest("GET", "/api/admin/users");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/admin/users");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testLargeJsonIsCompressed() throws Exception {
+        filter.doFilter(request, response, write(MediaType.APPLICATION_JSON_VALUE, LARGE_JSON));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentAsByteArray().length).isLessThan(LARGE_JSON.length());
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(LARGE_JSON);
+        assertThat(meterRegistry.get("http.server.responses.compression.ratio").tag("uri", "/api/admin/users").summary().mean())
+            .isLessThan(1);
+        assertThat(meterRegistry.get("http.server.responses.compression.cpu").tag("uri", "/api/admin/users").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testSmallJsonIsNotCompressed() throws Exception {
+        filter.doFilter(request, response, write(MediaType.APPLICATION_JSON_VALUE, "{\"login\":\"user\"}"));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo("{\"login\":\"user\"}");
+        assertThat(meterRegistry.find("http.server.responses.compression.ratio").summary()).isNull();
+    }
+
+    @Test
+    void testOtherContentTypesAreNotCompressed() throws Exception {
+        filter.doFilter(request, response, write(MediaType.TEXT_PLAIN_VALUE, LARGE_JSON));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_JSON);
+    }
+
+    @Test
+    void testResponseIsNotCompressedWithoutAcceptEncoding() throws Exception {
+        request.removeHeader(HttpHeaders.ACCEPT_ENCODING);
+
+        filter.doFilter(request, response, write(MediaType.APPLICATION_JSON_VALUE, LARGE_JSON));
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(LARGE_JSON);
+    }
+
+    @Test
+    void testEventStreamIsSentOnEachFlush() throws Exception {
+        FilterChain chain = (req, res) -> {
+            res.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+            ServletOutputStream out = res.getOutputStream();
+            out.write("data:first\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            // The first event is readable before the stream ends
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+                assertThat(new String(in.readNBytes(12), StandardCharsets.UTF_8)).isEqualTo("data:first\n\n");
+            }
+            out.write("data:second\n\n".getBytes(StandardCharsets.UTF_8));
+        };
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo("data:first\n\ndata:second\n\n");
+    }
+
+    @Test
+    void testAcceptsGzip() {
+        assertThat(CompressionFilter.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(CompressionFilter.acceptsGzip("br;q=1.0, gzip;q=0.8")).isTrue();
+        assertThat(CompressionFilter.acceptsGzip("*")).isTrue();
+        assertThat(CompressionFilter.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(CompressionFilter.acceptsGzip("identity")).isFalse();
+        assertThat(CompressionFilter.acceptsGzip(null)).isFalse();
+    }
+
+    private static FilterChain write(String contentType, String body) {
+        return (req, res) -> {
+            res.setContentType(contentType);
+            res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+        };
+    }
+
+    private static String gunzip(byte[] content) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
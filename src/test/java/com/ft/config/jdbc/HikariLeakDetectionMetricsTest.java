@@ -0,0 +1,80 @@
+package com.ft.config.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link HikariLeakDetectionMetrics}.
+ */
+class HikariLeakDetectionMetricsTest {
+
+    private static final String CONNECTION = "com.mysql.cj.jdbc.ConnectionImpl@4e7dc304";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LoggerContext context = new LoggerContext();
+
+    private HikariLeakDetectionMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new HikariLeakDetectionMetrics(meterRegistry, context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.destroy();
+        context.stop();
+    }
+
+    @Test
+    void testCountsLeakedAndReturnedConnections() throws Exception {
+        reportLeakAndReturn();
+
+        assertThat(leaks("HikariPool-1", "leaked")).isEqualTo(1);
+        assertThat(leaks("HikariPool-1", "returned")).isEqualTo(1);
+    }
+
+    @Test
+    void testCountsLeaksAfterReset() throws Exception {
+        context.reset();
+
+        reportLeakAndReturn();
+
+        assertThat(leaks("HikariPool-1", "leaked")).isEqualTo(1);
+        assertThat(leaks("HikariPool-1", "returned")).isEqualTo(1);
+    }
+
+    /**
+     * Log the messages of Hikari, from the same threads as Hikari.
+     */
+    private void reportLeakAndReturn() throws InterruptedException {
+        Logger leakLogger = context.getLogger(HikariLeakDetectionMetrics.LEAK_LOGGER);
+        leakLogger.setLevel(Level.INFO);
+        Thread housekeeper = new Thread(
+            () ->
+                leakLogger.warn(
+                    "Connection leak detection triggered for {} on thread {}, stack trace follows",
+                    CONNECTION,
+                    "XNIO-1 task-1",
+                    new Exception("Apparent connection leak detected")
+                ),
+            "HikariPool-1 housekeeper"
+        );
+        housekeeper.start();
+        housekeeper.join();
+        leakLogger.info("Previously reported leaked connection {} on thread {} was returned", CONNECTION, "XNIO-1 task-1");
+    }
+
+    private double leaks(String pool, String state) {
+        return meterRegistry.get("hikaricp.connections.leaks").tag("pool", pool).tag("state", state).counter().count();
+    }
+}
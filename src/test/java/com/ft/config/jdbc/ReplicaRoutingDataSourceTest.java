@@ -0,0 +1,145 @@
+package com.ft.config.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Test class for the {@link ReplicaRoutingDataSource}.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final HikariDataSource primary = pool("primary-pool");
+
+    private final HikariDataSource replica = pool("replica-1");
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void testRoutesReadWriteTransactionsToPrimary() throws Exception {
+        replicaStatus(replica, "SHOW REPLICA STATUS", "Seconds_Behind_Source", 0L);
+        ReplicaRoutingDataSource dataSource = routingDataSource();
+        dataSource.checkLag();
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("primary");
+        assertThat(routes("primary")).isEqualTo(1);
+    }
+
+    @Test
+    void testRoutesReadOnlyTransactionsToUsableReplica() throws Exception {
+        replicaStatus(replica, "SHOW REPLICA STATUS", "Seconds_Behind_Source", 2L);
+        ReplicaRoutingDataSource dataSource = routingDataSource();
+        dataSource.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+        assertThat(routes("replica")).isEqualTo(1);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("pool", "replica-1").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void testFallsBackToPrimaryWhenReplicaLags() throws Exception {
+        replicaStatus(replica, "SHOW REPLICA STATUS", "Seconds_Behind_Source", 60L);
+        ReplicaRoutingDataSource dataSource = routingDataSource();
+        dataSource.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("primary");
+        assertThat(routes("fallback")).isEqualTo(1);
+    }
+
+    @Test
+    void testFallsBackToPrimaryWhenReplicationIsStopped() throws Exception {
+        replicaStatus(replica, "SHOW REPLICA STATUS", "Seconds_Behind_Source", null);
+        ReplicaRoutingDataSource dataSource = routingDataSource();
+        dataSource.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("primary");
+    }
+
+    @Test
+    void testReadsLagWithLegacyStatement() throws Exception {
+        Statement statement = replicaStatus(replica, "SHOW SLAVE STATUS", "Seconds_Behind_Master", 1L);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenThrow(new SQLSyntaxErrorException("You have an error in your SQL syntax"));
+        ReplicaRoutingDataSource dataSource = routingDataSource();
+        dataSource.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("replica-1");
+    }
+
+    @Test
+    void testCountsLagCheckFailures() throws Exception {
+        when(replica.getConnection()).thenThrow(new SQLException("Access denied; you need the REPLICATION CLIENT privilege"));
+        ReplicaRoutingDataSource dataSource = routingDataSource();
+        dataSource.checkLag();
+        dataSource.checkLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(dataSource.determineCurrentLookupKey()).isEqualTo("primary");
+        assertThat(meterRegistry.get("datasource.replica.lag.errors").tag("pool", "replica-1").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("datasource.replica.lag").tag("pool", "replica-1").gauge().value()).isEqualTo(-1);
+    }
+
+    private ReplicaRoutingDataSource routingDataSource() {
+        return new ReplicaRoutingDataSource(
+            primary,
+            List.of(replica),
+            Duration.ofSeconds(10),
+            Duration.ofSeconds(5),
+            meterRegistry,
+            mock(ScheduledExecutorService.class)
+        );
+    }
+
+    private double routes(String target) {
+        return meterRegistry.get("datasource.routing").tag("target", target).counter().count();
+    }
+
+    private static HikariDataSource pool(String name) {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getPoolName()).thenReturn(name);
+        return pool;
+    }
+
+    private static Statement replicaStatus(HikariDataSource pool, String query, String lagColumn, Long lag) throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        ResultSet status = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(pool.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(query)).thenReturn(status);
+        when(status.next()).thenReturn(true);
+        when(status.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("Replica_IO_State");
+        when(metaData.getColumnLabel(2)).thenReturn(lagColumn);
+        when(status.getLong(2)).thenReturn(lag != null ? lag : 0L);
+        when(status.wasNull()).thenReturn(lag == null);
+        return statement;
+    }
+}
@@ -0,0 +1,71 @@
+package com.ft.config.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link StatementStatistics} and the Hibernate hooks feeding it.
+ */
+class StatementStatisticsTest {
+
+    private final StatementStatisticsInspector inspector = new StatementStatisticsInspector();
+
+    @AfterEach
+    void stop() {
+        StatementStatistics.stop();
+    }
+
+    @Test
+    void testStatementsAreOnlyCollectedOnceStarted() {
+        new StatementStatisticsListener().jdbcExecuteStatementEnd();
+        assertThat(StatementStatistics.current()).isNull();
+
+        StatementStatistics statistics = StatementStatistics.start("UserResource.getUser", Duration.ofSeconds(1));
+        assertThat(StatementStatistics.current()).isSameAs(statistics);
+        assertThat(StatementStatistics.stop()).isSameAs(statistics);
+        assertThat(StatementStatistics.current()).isNull();
+    }
+
+    @Test
+    void testInspectorKeepsSql() {
+        StatementStatistics.start("UserResource.getUser", Duration.ofSeconds(1));
+
+        assertThat(inspector.inspect("select * from jhi_user")).isEqualTo("select * from jhi_user");
+    }
+
+    @Test
+    void testSlowestStatementIsKept() {
+        StatementStatistics statistics = StatementStatistics.start("UserResource.getUser", Duration.ofSeconds(1));
+
+        inspector.inspect("select * from jhi_user where login = ?");
+        statistics.executed(Duration.ofMillis(3).toNanos());
+        inspector.inspect("select * from jhi_user_authority where user_id = ?");
+        statistics.executed(Duration.ofMillis(7).toNanos());
+        inspector.inspect("select * from jhi_user_authority where user_id = ?");
+        statistics.executed(Duration.ofMillis(2).toNanos());
+
+        assertThat(statistics.getCount()).isEqualTo(3);
+        assertThat(statistics.getTotalTime()).isEqualTo(Duration.ofMillis(12));
+        assertThat(statistics.getSlowestTime()).isEqualTo(Duration.ofMillis(7));
+        assertThat(statistics.getSlowestSql()).isEqualTo("select * from jhi_user_authority where user_id = ?");
+    }
+
+    @Test
+    void testListenerTimesStatementsAndBatches() {
+        StatementStatistics statistics = StatementStatistics.start("UserResource.createUser", Duration.ofSeconds(1));
+        StatementStatisticsListener listener = new StatementStatisticsListener();
+
+        inspector.inspect("insert into jhi_user_authority (user_id, authority_name) values (?, ?)");
+        listener.jdbcExecuteBatchStart();
+        listener.jdbcExecuteBatchEnd();
+        inspector.inspect("select * from jhi_user where id = ?");
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+
+        assertThat(statistics.getCount()).isEqualTo(2);
+        assertThat(statistics.getSlowestSql()).isNotNull();
+    }
+}
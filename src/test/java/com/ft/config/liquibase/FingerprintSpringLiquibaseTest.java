@@ -0,0 +1,78 @@
+package com.ft.config.liquibase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Test class for the {@link FingerprintSpringLiquibase}.
+ */
+class FingerprintSpringLiquibaseTest {
+
+    private static final String LOCK_TABLE_COUNT =
+        "select count(*) from information_schema.tables where table_name = 'DATABASECHANGELOGLOCK'";
+
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void testStoresFingerprintAfterUpdate() throws Exception {
+        FingerprintSpringLiquibase liquibase = liquibase("test");
+        liquibase.afterPropertiesSet();
+
+        assertThat(jdbcTemplate.queryForObject("select fingerprint from jhi_changelog_fingerprint where id = 'changelog'", String.class))
+            .isEqualTo(liquibase.computeFingerprint());
+        assertThat(jdbcTemplate.queryForObject("select change_sets from jhi_changelog_fingerprint", Integer.class))
+            .isEqualTo(jdbcTemplate.queryForObject("select count(*) from DATABASECHANGELOG", Integer.class));
+    }
+
+    @Test
+    void testSkipsUnchangedChangelogs() throws Exception {
+        liquibase("test").afterPropertiesSet();
+        // Liquibase creates its lock table whenever it runs
+        jdbcTemplate.execute("drop table DATABASECHANGELOGLOCK");
+
+        liquibase("test").afterPropertiesSet();
+
+        assertThat(jdbcTemplate.queryForObject(LOCK_TABLE_COUNT, Integer.class)).isZero();
+    }
+
+    @Test
+    void testRunsWhenChangeSetsChanged() throws Exception {
+        liquibase("test").afterPropertiesSet();
+        jdbcTemplate.execute("drop table DATABASECHANGELOGLOCK");
+        jdbcTemplate.update("update jhi_changelog_fingerprint set change_sets = change_sets + 1");
+
+        liquibase("test").afterPropertiesSet();
+
+        assertThat(jdbcTemplate.queryForObject(LOCK_TABLE_COUNT, Integer.class)).isOne();
+    }
+
+    @Test
+    void testFingerprintDependsOnContexts() throws Exception {
+        assertThat(liquibase("test").computeFingerprint())
+            .isEqualTo(liquibase("test").computeFingerprint())
+            .isNotEqualTo(liquibase("prod").computeFingerprint());
+    }
+
+    private FingerprintSpringLiquibase liquibase(String contexts) {
+        FingerprintSpringLiquibase liquibase = new FingerprintSpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setChangeLog("classpath:config/liquibase/master.xml");
+        liquibase.setContexts(contexts);
+        return liquibase;
+    }
+}
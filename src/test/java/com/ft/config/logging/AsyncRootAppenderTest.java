@@ -0,0 +1,109 @@
+package com.ft.config.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.joran.spi.JoranException;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link AsyncRootAppender}.
+ */
+class AsyncRootAppenderTest {
+
+    private static final String CONFIGURATION =
+        "<configuration>" +
+        "<appender name=\"LIST\" class=\"ch.qos.logback.core.read.ListAppender\"/>" +
+        "<root level=\"INFO\"><appender-ref ref=\"LIST\"/></root>" +
+        "</configuration>";
+
+    private final LoggerContext context = new LoggerContext();
+
+    private final Counter droppedEvents = new SimpleMeterRegistry().counter("logback.events.dropped");
+
+    @BeforeEach
+    void setUp() throws JoranException {
+        configure();
+        AsyncRootAppender.install(context, 1024, droppedEvents);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void testWrapsRootAppenders() {
+        assertRootAppendersWrapped();
+    }
+
+    @Test
+    void testWrapsRootAppendersOnFirstEventAfterReconfiguration() throws JoranException {
+        context.reset();
+        configure();
+
+        assertThat(rootAppenders()).extracting(Appender::getName).containsExactly("LIST");
+        context.getLogger(AsyncRootAppenderTest.class).info("First event after the reconfiguration");
+
+        assertRootAppendersWrapped();
+    }
+
+    @Test
+    void testWrapsRootAppendersOnStartAfterReconfiguration() throws JoranException {
+        context.reset();
+        configure();
+        context.start();
+
+        assertRootAppendersWrapped();
+    }
+
+    @Test
+    void testMovesAppendersAddedNextToAsyncAppender() {
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.setName("LATE");
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+
+        context.start();
+
+        assertThat(rootAppenders()).extracting(Appender::getName).containsExactly(AsyncRootAppender.APPENDER_NAME);
+        assertThat(asyncAppender().getAppender("LATE")).isSameAs(appender);
+    }
+
+    private void configure() throws JoranException {
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        configurator.doConfigure(new ByteArrayInputStream(CONFIGURATION.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void assertRootAppendersWrapped() {
+        assertThat(rootAppenders()).extracting(Appender::getName).containsExactly(AsyncRootAppender.APPENDER_NAME);
+        assertThat(asyncAppender().isStarted()).isTrue();
+        assertThat(asyncAppender().getAppender("LIST")).isInstanceOf(ListAppender.class);
+    }
+
+    private LoggingEventAsyncDisruptorAppender asyncAppender() {
+        return (LoggingEventAsyncDisruptorAppender) context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(AsyncRootAppender.APPENDER_NAME);
+    }
+
+    private List<Appender<ILoggingEvent>> rootAppenders() {
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders().forEachRemaining(appenders::add);
+        return appenders;
+    }
+}
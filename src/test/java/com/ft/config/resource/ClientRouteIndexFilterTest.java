@@ -0,0 +1,108 @@
+package com.ft.config.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+
+class ClientRouteIndexFilterTest {
+
+    private static final String INDEX = "<!doctype html><html><body><jhi-main></jhi-main></body></html>";
+
+    @TempDir
+    Path staticDirectory;
+
+    private ClientRouteIndexFilter filter;
+
+    @BeforeEach
+    void setup() throws Exception {
+        Path index = staticDirectory.resolve("index.html");
+        Files.write(index, INDEX.getBytes(StandardCharsets.UTF_8));
+        filter = new ClientRouteIndexFilter(new FileSystemResource(index));
+    }
+
+    @Test
+    void shouldRecognizeClientRoutes() {
+        assertThat(ClientRouteIndexFilter.isClientRoute("/")).isTrue();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/admin/user-management")).isTrue();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/account/settings")).isTrue();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/apidocs")).isTrue();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/api")).isFalse();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/api/account")).isFalse();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/management/health")).isFalse();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/websocket/tracker/308/sessionId/websocket")).isFalse();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/v3/api-docs")).isFalse();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/v3/other")).isTrue();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/main.0a1b2c3d4e5f6a7b8c9d.js")).isFalse();
+        assertThat(ClientRouteIndexFilter.isClientRoute("/content/images/logo.png")).isFalse();
+    }
+
+    @Test
+    void shouldServeIndexForClientRoute() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/user-management");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).startsWith("text/html");
+        assertThat(response.getContentAsString()).isEqualTo(INDEX);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNotNull();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void shouldServeCompressedIndex() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8)).isEqualTo(INDEX);
+        }
+    }
+
+    @Test
+    void shouldAnswerNotModifiedWhenETagMatches() throws Exception {
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/account/settings"), firstResponse, new MockFilterChain());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/account/settings");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, firstResponse.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void shouldLetServerPathsThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/account");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ft.config.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ft.config.resource.ContentHashResourceResolver.ContentHashResource;
+import java.io.InputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+
+class ContentHashResourceResolverTest {
+
+    private final Resource resource = new ClassPathResource("config/application.yml");
+
+    @Test
+    void shouldUseContentHashAsStrongETag() throws Exception {
+        ContentHashResource hashed = new ContentHashResource(resource, Long.MAX_VALUE);
+
+        String expectedHash;
+        try (InputStream inputStream = resource.getInputStream()) {
+            expectedHash = DigestUtils.md5DigestAsHex(inputStream);
+        }
+        assertThat(hashed.getResponseHeaders().getETag()).isEqualTo("\"" + expectedHash + "\"");
+        assertThat(hashed.getResponseHeaders().getCacheControl()).isNull();
+        assertThat(hashed.getFilename()).isEqualTo("application.yml");
+    }
+
+    @Test
+    void shouldServeSameContentFromMemoryOrFromResource() throws Exception {
+        ContentHashResource inMemory = new ContentHashResource(resource, Long.MAX_VALUE);
+        ContentHashResource streamed = new ContentHashResource(resource, 0);
+
+        byte[] expected;
+        try (InputStream inputStream = resource.getInputStream()) {
+            expected = StreamUtils.copyToByteArray(inputStream);
+        }
+        try (InputStream inputStream = inMemory.getInputStream()) {
+            assertThat(StreamUtils.copyToByteArray(inputStream)).isEqualTo(expected);
+        }
+        try (InputStream inputStream = streamed.getInputStream()) {
+            assertThat(StreamUtils.copyToByteArray(inputStream)).isEqualTo(expected);
+        }
+        assertThat(inMemory.contentLength()).isEqualTo(expected.length);
+        assertThat(inMemory.getResponseHeaders().getETag()).isEqualTo(streamed.getResponseHeaders().getETag());
+    }
+
+    @Test
+    void shouldDetectHashedFilenames() {
+        assertThat(ContentHashResourceResolver.isHashedFilename("main.0a1b2c3d4e5f6a7b8c9d.js")).isTrue();
+        assertThat(ContentHashResourceResolver.isHashedFilename("styles.0a1b2c3d4e5f6a7b.css")).isTrue();
+        assertThat(ContentHashResourceResolver.isHashedFilename("main.js")).isFalse();
+        assertThat(ContentHashResourceResolver.isHashedFilename("favicon.ico")).isFalse();
+        assertThat(ContentHashResourceResolver.isHashedFilename(null)).isFalse();
+    }
+}
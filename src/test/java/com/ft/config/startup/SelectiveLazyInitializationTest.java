@@ -0,0 +1,42 @@
+package com.ft.config.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * Test class for the {@link SelectiveLazyInitialization}.
+ */
+class SelectiveLazyInitializationTest {
+
+    @Test
+    void testDefersOnlyListedBeans() {
+        AtomicInteger created = new AtomicInteger();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("eager", counting(created));
+        beanFactory.registerBeanDefinition("lazy", counting(created));
+
+        new SelectiveLazyInitialization(List.of("lazy", "undefined")).postProcessBeanFactory(beanFactory);
+        beanFactory.preInstantiateSingletons();
+
+        assertThat(beanFactory.getBeanDefinition("eager").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("lazy").isLazyInit()).isTrue();
+        assertThat(created).hasValue(1);
+        beanFactory.getBean("lazy");
+        assertThat(created).hasValue(2);
+    }
+
+    private static BeanDefinition counting(AtomicInteger created) {
+        return BeanDefinitionBuilder
+            .genericBeanDefinition(Object.class, () -> {
+                created.incrementAndGet();
+                return new Object();
+            })
+            .getBeanDefinition();
+    }
+}
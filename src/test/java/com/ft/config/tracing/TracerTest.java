@@ -0,0 +1,68 @@
+package com.ft.config.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link Tracer}.
+ */
+class TracerTest {
+
+    private final List<Span> exported = new ArrayList<>();
+
+    @Test
+    void testSpansOfSampledTraceAreExported() {
+        Tracer tracer = new Tracer(1, exported::add);
+
+        try (Span root = tracer.startSpan("GET /api/account")) {
+            try (Span child = tracer.startSpan("UserRepository.findOneWithAuthoritiesByLogin")) {
+                child.tag("cache.hit", "false");
+                assertThat(tracer.currentSpan()).isSameAs(child);
+            }
+            assertThat(tracer.currentSpan()).isSameAs(root);
+        }
+
+        assertThat(tracer.currentSpan()).isNull();
+        assertThat(exported).hasSize(2);
+        Span child = exported.get(0);
+        Span root = exported.get(1);
+        assertThat(root.getParentId()).isNull();
+        assertThat(child.getTraceId()).isEqualTo(root.getTraceId()).hasSize(16);
+        assertThat(child.getParentId()).isEqualTo(root.getSpanId());
+        assertThat(child.getTags()).containsEntry("cache.hit", "false");
+    }
+
+    @Test
+    void testSpansOfUnsampledTraceAreNotExported() {
+        Tracer tracer = new Tracer(0, exported::add);
+
+        try (Span root = tracer.startSpan("GET /api/account")) {
+            try (Span child = tracer.startSpan("UserRepository.findOneWithAuthoritiesByLogin")) {
+                child.tag("cache.hit", "false");
+                assertThat(child.getTags()).isEmpty();
+            }
+            assertThat(tracer.currentSpan()).isSameAs(root);
+        }
+
+        assertThat(tracer.currentSpan()).isNull();
+        assertThat(exported).isEmpty();
+    }
+
+    @Test
+    void testWrappedTaskRunsInCurrentTrace() {
+        Tracer tracer = new Tracer(1, exported::add);
+        Runnable task;
+        try (Span root = tracer.startSpan("POST /api/register")) {
+            task = tracer.wrap(() -> tracer.startSpan("MailService.sendActivationEmail").close());
+        }
+
+        task.run();
+
+        assertThat(tracer.currentSpan()).isNull();
+        assertThat(exported).hasSize(2);
+        assertThat(exported.get(1).getParentId()).isEqualTo(exported.get(0).getSpanId());
+    }
+}
@@ -0,0 +1,43 @@
+package com.ft.config.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Test class for the {@link TracingFilter}.
+ */
+class TracingFilterTest {
+
+    private final List<Span> exported = new ArrayList<>();
+
+    private final TracingFilter filter = new TracingFilter(new Tracer(1, exported::add));
+
+    @Test
+    void testRootSpanIsNamedAfterHandlerPattern() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/admin/users/admin");
+
+        filter.doFilter(
+            request,
+            new MockHttpServletResponse(),
+            (req, res) -> req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/admin/users/{login}")
+        );
+
+        assertThat(exported).hasSize(1);
+        assertThat(exported.get(0).getName()).isEqualTo("GET /api/admin/users/{login}");
+        assertThat(exported.get(0).getTags()).containsEntry("http.status_code", "200");
+    }
+
+    @Test
+    void testRootSpanIsNamedAfterMethodWithoutHandler() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/content/unknown.js"), new MockHttpServletResponse(), (req, res) -> {});
+
+        assertThat(exported).hasSize(1);
+        assertThat(exported.get(0).getName()).isEqualTo("GET");
+    }
+}
@@ -0,0 +1,131 @@
+package com.ft.config.undertow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link XnioMetrics}.
+ */
+class XnioMetricsTest {
+
+    private MBeanServer mBeanServer;
+
+    private MeterRegistry meterRegistry;
+
+    private XnioMetrics xnioMetrics;
+
+    @BeforeEach
+    void setup() {
+        mBeanServer = MBeanServerFactory.newMBeanServer();
+        meterRegistry = new SimpleMeterRegistry();
+        xnioMetrics = new XnioMetrics(meterRegistry, mBeanServer);
+    }
+
+    @AfterEach
+    void release() {
+        MBeanServerFactory.releaseMBeanServer(mBeanServer);
+    }
+
+    @Test
+    void testWorkerIsExported() throws Exception {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("WorkerQueueSize", 3);
+        attributes.put("BusyWorkerThreadCount", 12);
+        attributes.put("WorkerPoolSize", 16);
+        attributes.put("MaxWorkerPoolSize", 64);
+        attributes.put("IoThreadCount", 4);
+        mBeanServer.registerMBean(new FakeMBean(attributes), new ObjectName("org.xnio:type=Xnio,provider=\"nio\",worker=\"XNIO-1\""));
+
+        xnioMetrics.bind();
+
+        assertThat(meterRegistry.get("undertow.worker.queue.size").tag("worker", "XNIO-1").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("undertow.worker.threads.busy").tag("worker", "XNIO-1").gauge().value()).isEqualTo(12);
+        assertThat(meterRegistry.get("undertow.worker.threads.max").tag("worker", "XNIO-1").gauge().value()).isEqualTo(64);
+        attributes.put("WorkerQueueSize", 5);
+        assertThat(meterRegistry.get("undertow.worker.queue.size").tag("worker", "XNIO-1").gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    void testListenerConnectionsAreExported() throws Exception {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("ConnectionCount", 250);
+        attributes.put("ConnectionLimitHighWater", 10000);
+        ObjectName name = new ObjectName("org.xnio:type=Xnio,provider=\"nio\",worker=\"XNIO-1\",address=\"/0.0.0.0:8080\"");
+        mBeanServer.registerMBean(new FakeMBean(attributes), name);
+
+        xnioMetrics.bind();
+
+        assertThat(meterRegistry.get("undertow.connections.active").tag("address", "/0.0.0.0:8080").gauge().value()).isEqualTo(250);
+        assertThat(meterRegistry.get("undertow.connections.max").tag("address", "/0.0.0.0:8080").gauge().value()).isEqualTo(10000);
+        mBeanServer.unregisterMBean(name);
+        assertThat(meterRegistry.get("undertow.connections.active").gauge().value()).isNaN();
+    }
+
+    @Test
+    void testNothingIsExportedWithoutXnio() {
+        xnioMetrics.bind();
+
+        assertThat(meterRegistry.getMeters()).isEmpty();
+    }
+
+    private static final class FakeMBean implements DynamicMBean {
+
+        private final Map<String, Object> attributes;
+
+        FakeMBean(Map<String, Object> attributes) {
+            this.attributes = attributes;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            if (!attributes.containsKey(attribute)) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return attributes.get(attribute);
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) {
+            attributes.put(attribute.getName(), attribute.getValue());
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] names) {
+            AttributeList list = new AttributeList();
+            for (String name : names) {
+                list.add(new Attribute(name, attributes.get(name)));
+            }
+            return list;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList list) {
+            return list;
+        }
+
+        @Override
+        public Object invoke(String actionName, Object[] params, String[] signature) {
+            return null;
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            return new MBeanInfo(FakeMBean.class.getName(), "XNIO MXBean", null, null, null, null);
+        }
+    }
+}
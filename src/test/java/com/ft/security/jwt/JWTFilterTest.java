@@ -2,6 +2,7 @@ package com.ft.security.jwt;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.ft.config.tracing.Tracer;
 import com.ft.security.AuthoritiesConstants;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -33,7 +34,7 @@ class JWTFilterTest {
         ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
-        jwtFilter = new JWTFilter(tokenProvider);
+        jwtFilter = new JWTFilter(tokenProvider, new Tracer(0, span -> {}));
         SecurityContextHolder.getContext().setAuthentication(null);
     }
 
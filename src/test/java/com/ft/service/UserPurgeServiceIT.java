@@ -0,0 +1,115 @@
+package com.ft.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ft.IntegrationTest;
+import com.ft.domain.User;
+import com.ft.repository.UserRepository;
+import com.ft.repository.search.UserSearchRepository;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link UserPurgeService}.
+ */
+@IntegrationTest
+@Transactional
+class UserPurgeServiceIT {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPurgeService userPurgeService;
+
+    /**
+     * This repository is mocked in the com.ft.repository.search test package.
+     *
+     * @see com.ft.repository.search.UserSearchRepositoryMockConfiguration
+     */
+    @Autowired
+    private UserSearchRepository mockUserSearchRepository;
+
+    @Autowired
+    private AuditingHandler auditingHandler;
+
+    @MockBean
+    private DateTimeProvider dateTimeProvider;
+
+    private User user;
+
+    @BeforeEach
+    public void init() {
+        user = new User();
+        user.setLogin("johndoe");
+        user.setPassword(RandomStringUtils.random(60));
+        user.setActivated(false);
+        user.setEmail("johndoe@localhost");
+        user.setLangKey("dummy");
+
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(LocalDateTime.now()));
+        auditingHandler.setDateTimeProvider(dateTimeProvider);
+    }
+
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersWithNotNullActivationKeyCreatedBefore3DaysAreDeleted() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        user.setActivationKey(RandomStringUtils.random(20));
+        User dbUser = userRepository.saveAndFlush(user);
+        dbUser.setCreatedDate(now.minus(4, ChronoUnit.DAYS));
+        userRepository.saveAndFlush(user);
+        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+        assertThat(findNotActivatedUsersCreatedBefore(threeDaysAgo)).contains(dbUser.getId());
+        userPurgeService.removeNotActivatedUsers();
+        assertThat(findNotActivatedUsersCreatedBefore(threeDaysAgo)).isEmpty();
+
+        // Verify Elasticsearch mock
+        verify(mockUserSearchRepository).deleteInBulk(Collections.singletonList(dbUser.getId()));
+    }
+
+    @Test
+    @Transactional
+    void assertThatNotActivatedUsersWithNullActivationKeyCreatedBefore3DaysAreNotDeleted() {
+        Instant now = Instant.now();
+        when(dateTimeProvider.getNow()).thenReturn(Optional.of(now.minus(4, ChronoUnit.DAYS)));
+        User dbUser = userRepository.saveAndFlush(user);
+        dbUser.setCreatedDate(now.minus(4, ChronoUnit.DAYS));
+        userRepository.saveAndFlush(user);
+        Instant threeDaysAgo = now.minus(3, ChronoUnit.DAYS);
+        assertThat(findNotActivatedUsersCreatedBefore(threeDaysAgo)).isEmpty();
+        userPurgeService.removeNotActivatedUsers();
+        Optional<User> maybeDbUser = userRepository.findById(dbUser.getId());
+        assertThat(maybeDbUser).contains(dbUser);
+
+        // Verify Elasticsearch mock
+        verify(mockUserSearchRepository, never()).deleteInBulk(any());
+    }
+
+    private List<Long> findNotActivatedUsersCreatedBefore(Instant dateTime) {
+        return userRepository
+            .findNotActivatedUsersCreatedBefore(dateTime, PageRequest.of(0, 100))
+            .stream()
+            .map(UserRepository.UserIdentity::getId)
+            .collect(Collectors.toList());
+    }
+}
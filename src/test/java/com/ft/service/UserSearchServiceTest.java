@@ -0,0 +1,88 @@
+package com.ft.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.ft.config.ApplicationProperties;
+import com.ft.domain.User;
+import com.ft.repository.search.BoundedSearchHits;
+import com.ft.repository.search.UserSearchRepository;
+import com.ft.service.dto.UserDTO;
+import com.ft.service.search.SearchIndexVersion;
+import com.ft.service.search.SearchQueryAnalyzer.Mode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Test class for the {@link UserSearchService}.
+ */
+class UserSearchServiceTest {
+
+    private final UserSearchRepository userSearchRepository = mock(UserSearchRepository.class);
+
+    private UserSearchService userSearchService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        SearchIndexVersion userSearchIndexVersion = mock(SearchIndexVersion.class);
+        when(userSearchIndexVersion.current()).thenReturn(1L);
+        userSearchService =
+            new UserSearchService(userSearchRepository, userSearchIndexVersion, new ApplicationProperties(), new SimpleMeterRegistry());
+        user = new User();
+        user.setId(1L);
+        user.setLogin("johndoe");
+    }
+
+    @Test
+    void testCachesCompleteResults() {
+        searchReturns(new BoundedSearchHits<>(Collections.singletonList(user), false, false));
+
+        search();
+        List<UserDTO> results = search();
+
+        assertThat(results).extracting(UserDTO::getLogin).containsExactly("johndoe");
+        verify(userSearchRepository, times(1)).searchBounded(any(), anyInt(), anyInt(), any(Duration.class), anyInt(), anyString());
+    }
+
+    @Test
+    void testDoesNotCacheTimedOutResults() {
+        searchReturns(new BoundedSearchHits<>(Collections.singletonList(user), true, false));
+
+        search();
+        List<UserDTO> results = search();
+
+        assertThat(results).extracting(UserDTO::getLogin).containsExactly("johndoe");
+        verify(userSearchRepository, times(2)).searchBounded(any(), anyInt(), anyInt(), any(Duration.class), anyInt(), anyString());
+    }
+
+    @Test
+    void testDoesNotCacheEarlyTerminatedResults() {
+        searchReturns(new BoundedSearchHits<>(Collections.singletonList(user), false, true));
+
+        search();
+        search();
+
+        verify(userSearchRepository, times(2)).searchBounded(any(), anyInt(), anyInt(), any(Duration.class), anyInt(), anyString());
+    }
+
+    private void searchReturns(BoundedSearchHits<User> hits) {
+        when(userSearchRepository.searchBounded(any(), anyInt(), anyInt(), any(Duration.class), anyInt(), anyString())).thenReturn(hits);
+    }
+
+    private List<UserDTO> search() {
+        return userSearchService.search("john", Mode.SIMPLE, PageRequest.of(0, 20));
+    }
+}
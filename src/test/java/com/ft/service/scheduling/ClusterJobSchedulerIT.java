@@ -0,0 +1,96 @@
+package com.ft.service.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ft.IntegrationTest;
+import com.ft.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.task.TaskSchedulingProperties;
+
+/**
+ * Integration tests for {@link ClusterJobScheduler}.
+ */
+@IntegrationTest
+class ClusterJobSchedulerIT {
+
+    /**
+     * Between two runs of the jobs, which run every day at 01:00.
+     */
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2021-06-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @Autowired
+    private RedissonClient redissonClient;
+
+    private MeterRegistry meterRegistry;
+
+    private ClusterJobScheduler clusterJobScheduler;
+
+    private String jobName;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clusterJobScheduler =
+            new ClusterJobScheduler(redissonClient, meterRegistry, new ApplicationProperties(), new TaskSchedulingProperties(), CLOCK);
+        jobName = "cluster-job-scheduler-it-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clusterJobScheduler.cancel(jobName);
+        clusterJobScheduler.destroy();
+        redissonClient.getAtomicLong("scheduler:last-run:" + jobName).delete();
+    }
+
+    @Test
+    void assertThatJobRunsOncePerScheduledTime() {
+        AtomicInteger runs = new AtomicInteger();
+        clusterJobScheduler.schedule(jobName, "0 0 1 * * ?", runs::incrementAndGet);
+
+        // A new job is not late
+        clusterJobScheduler.run(jobName);
+        assertThat(runs).hasValue(0);
+
+        // As if no node ran the last scheduled time
+        redissonClient.getAtomicLong("scheduler:last-run:" + jobName).set(1L);
+        clusterJobScheduler.run(jobName);
+        clusterJobScheduler.run(jobName);
+        assertThat(runs).hasValue(1);
+        assertThat(meterRegistry.get("scheduler.job.duration").tag("job", jobName).tag("outcome", "success").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("scheduler.job.skipped").tag("job", jobName).tag("reason", "done").counter().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void assertThatFailedJobIsNotRetried() {
+        AtomicInteger runs = new AtomicInteger();
+        clusterJobScheduler.schedule(
+            jobName,
+            "0 0 1 * * ?",
+            () -> {
+                runs.incrementAndGet();
+                throw new IllegalStateException("Failure");
+            }
+        );
+        redissonClient.getAtomicLong("scheduler:last-run:" + jobName).set(1L);
+
+        clusterJobScheduler.run(jobName);
+        clusterJobScheduler.run(jobName);
+
+        assertThat(runs).hasValue(1);
+        assertThat(meterRegistry.get("scheduler.job.duration").tag("job", jobName).tag("outcome", "failure").timer().count())
+            .isEqualTo(1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ft.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ft.config.ApplicationProperties;
+import com.ft.service.InvalidSearchQueryException;
+import com.ft.service.search.SearchQueryAnalyzer.AnalyzedQuery;
+import com.ft.service.search.SearchQueryAnalyzer.Mode;
+import org.elasticsearch.index.query.QueryStringQueryBuilder;
+import org.elasticsearch.index.query.SimpleQueryStringBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SearchQueryAnalyzer}.
+ */
+class SearchQueryAnalyzerTest {
+
+    private ApplicationProperties.Search properties;
+
+    private SearchQueryAnalyzer analyzer;
+
+    @BeforeEach
+    public void init() {
+        properties = new ApplicationProperties.Search();
+        properties.setQueryStringEnabled(true);
+        analyzer = new SearchQueryAnalyzer(properties);
+    }
+
+    @Test
+    void simpleModeIsTheDefault() {
+        assertThat(Mode.fromParameter(null)).isEqualTo(Mode.SIMPLE);
+        assertThat(Mode.fromParameter("query-string")).isEqualTo(Mode.QUERY_STRING);
+        assertThatThrownBy(() -> Mode.fromParameter("regexp")).isInstanceOf(InvalidSearchQueryException.class);
+    }
+
+    @Test
+    void simpleQueryUsesFieldWhitelist() {
+        AnalyzedQuery analyzedQuery = analyzer.analyze("  john   doe ", Mode.SIMPLE);
+
+        assertThat(analyzedQuery.getQuery()).isInstanceOf(SimpleQueryStringBuilder.class);
+        assertThat(((SimpleQueryStringBuilder) analyzedQuery.getQuery()).fields()).containsOnlyKeys("login", "firstName", "lastName");
+        assertThat(analyzedQuery.getNormalizedQuery()).isEqualTo("john doe");
+        assertThat(analyzedQuery.getCost()).isEqualTo(6);
+    }
+
+    @Test
+    void simpleQueryRewritesExpensiveWildcards() {
+        assertThat(analyzer.analyze("*john", Mode.SIMPLE).getNormalizedQuery()).isEqualTo("john");
+        assertThat(analyzer.analyze("j* doe*", Mode.SIMPLE).getNormalizedQuery()).isEqualTo("j doe*");
+        assertThat(analyzer.analyze("(john | jane) -doe", Mode.SIMPLE).getNormalizedQuery()).isEqualTo("(john | jane) -doe");
+    }
+
+    @Test
+    void rejectsTooManyClauses() {
+        String query = "a b c d e f g h i j k l m n o p q";
+
+        assertThatThrownBy(() -> analyzer.analyze(query, Mode.SIMPLE)).isInstanceOf(InvalidSearchQueryException.class);
+    }
+
+    @Test
+    void rejectsTooExpensiveQuery() {
+        String query = "john* jane* doe* smith* admin* user*";
+
+        assertThatThrownBy(() -> analyzer.analyze(query, Mode.SIMPLE)).isInstanceOf(InvalidSearchQueryException.class);
+    }
+
+    @Test
+    void rejectsEmptyAndTooLongQueries() {
+        assertThatThrownBy(() -> analyzer.analyze(" ", Mode.SIMPLE)).isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> analyzer.analyze("*", Mode.SIMPLE)).isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> analyzer.analyze("a".repeat(257), Mode.SIMPLE)).isInstanceOf(InvalidSearchQueryException.class);
+    }
+
+    @Test
+    void queryStringRejectsExpensiveConstructs() {
+        assertThatThrownBy(() -> analyzer.analyze("*ohn", Mode.QUERY_STRING)).isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> analyzer.analyze("/jo.*n/", Mode.QUERY_STRING)).isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> analyzer.analyze("john~2", Mode.QUERY_STRING)).isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> analyzer.analyze("id:[1 TO 5]", Mode.QUERY_STRING)).isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> analyzer.analyze("j*", Mode.QUERY_STRING)).isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> analyzer.analyze("email:john", Mode.QUERY_STRING)).isInstanceOf(InvalidSearchQueryException.class);
+    }
+
+    @Test
+    void queryStringAcceptsWhitelistedFields() {
+        AnalyzedQuery analyzedQuery = analyzer.analyze("login:john AND lastName:do*", Mode.QUERY_STRING);
+
+        assertThat(analyzedQuery.getQuery()).isInstanceOf(QueryStringQueryBuilder.class);
+        assertThat(((QueryStringQueryBuilder) analyzedQuery.getQuery()).allowLeadingWildcard()).isFalse();
+        assertThat(analyzedQuery.getCost()).isEqualTo(15);
+    }
+
+    @Test
+    void queryStringCanBeDisabled() {
+        properties.setQueryStringEnabled(false);
+
+        assertThatThrownBy(() -> analyzer.analyze("john", Mode.QUERY_STRING)).isInstanceOf(InvalidSearchQueryException.class);
+    }
+}
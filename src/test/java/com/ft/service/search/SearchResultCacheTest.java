@@ -0,0 +1,59 @@
+package com.ft.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link SearchResultCache}.
+ */
+class SearchResultCacheTest {
+
+    private SearchResultCache<String> cache;
+
+    @BeforeEach
+    public void init() {
+        cache = new SearchResultCache<>(2);
+    }
+
+    @Test
+    void returnsResultsCachedForTheSameVersion() {
+        cache.put(1, "john", "results");
+
+        assertThat(cache.get(1, "john")).contains("results");
+        assertThat(cache.get(1, "jane")).isEmpty();
+    }
+
+    @Test
+    void newVersionInvalidatesPreviousResults() {
+        cache.put(1, "john", "old");
+
+        assertThat(cache.get(2, "john")).isEmpty();
+
+        cache.put(2, "jane", "new");
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(2, "john")).isEmpty();
+    }
+
+    @Test
+    void ignoresResultsComputedForAnOutdatedVersion() {
+        cache.put(2, "john", "new");
+        cache.put(1, "john", "old");
+
+        assertThat(cache.get(2, "john")).contains("new");
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntries() {
+        cache.put(1, "a", "a");
+        cache.put(1, "b", "b");
+        cache.get(1, "a");
+        cache.put(1, "c", "c");
+
+        assertThat(cache.get(1, "a")).contains("a");
+        assertThat(cache.get(1, "b")).isEmpty();
+        assertThat(cache.get(1, "c")).contains("c");
+    }
+}
@@ -17,13 +17,16 @@ import com.ft.service.dto.PasswordChangeDTO;
 import com.ft.service.dto.UserDTO;
 import com.ft.web.rest.vm.KeyAndPasswordVM;
 import com.ft.web.rest.vm.ManagedUserVM;
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.*;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -51,6 +54,9 @@ class AccountResourceIT {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private MockMvc restAccountMockMvc;
 
@@ -108,6 +114,47 @@ class AccountResourceIT {
             .andExpect(jsonPath("$.authorities").value(AuthoritiesConstants.ADMIN));
     }
 
+    @Test
+    @Transactional
+    @WithMockUser("test-etag")
+    void testGetNotModifiedAccount() throws Exception {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin("test-etag");
+        user.setEmail("test-etag@jhipster.com");
+        user.setLangKey("en");
+        userService.createUser(user);
+        userRepository.flush();
+        // No entity tag is given to a user modified within the last second
+        jdbcTemplate.update(
+            "update jhi_user set last_modified_date = ? where login = ?",
+            Timestamp.from(Instant.now().minusSeconds(60)),
+            "test-etag"
+        );
+
+        String eTag = restAccountMockMvc
+            .perform(get("/api/account").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restAccountMockMvc
+            .perform(get("/api/account").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(content().string(""));
+
+        userService.updateUser("jane", "doe", "test-etag@jhipster.com", "en", null);
+
+        restAccountMockMvc
+            .perform(get("/api/account").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+            .andExpect(jsonPath("$.firstName").value("jane"));
+    }
+
     @Test
     void testGetUnknownAccount() throws Exception {
         restAccountMockMvc
@@ -7,6 +7,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.ft.config.KafkaProperties;
+import com.ft.config.tracing.Tracer;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
@@ -57,7 +58,7 @@ class BlogKafkaResourceIT {
         consumerProps.put("client.id", "default-client");
         kafkaProperties.setConsumer(consumerProps);
 
-        BlogKafkaResource kafkaResource = new BlogKafkaResource(kafkaProperties);
+        BlogKafkaResource kafkaResource = new BlogKafkaResource(kafkaProperties, new Tracer(0, span -> {}));
 
         restMockMvc = MockMvcBuilders.standaloneSetup(kafkaResource).build();
     }
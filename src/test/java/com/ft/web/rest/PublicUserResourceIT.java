@@ -1,21 +1,28 @@
 package com.ft.web.rest;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.ft.IntegrationTest;
 import com.ft.domain.User;
 import com.ft.repository.UserRepository;
 import com.ft.repository.search.UserSearchRepository;
 import com.ft.security.AuthoritiesConstants;
+import com.ft.service.UserService;
+import com.ft.service.search.SearchIndexVersion;
 import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -42,6 +49,12 @@ class PublicUserResourceIT {
     @Autowired
     private UserSearchRepository mockUserSearchRepository;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private SearchIndexVersion userSearchIndexVersion;
+
     @Autowired
     private EntityManager em;
 
@@ -75,12 +88,81 @@ class PublicUserResourceIT {
             .perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
             .andExpect(jsonPath("$.[*].login").value(hasItem(DEFAULT_LOGIN)))
             .andExpect(jsonPath("$.[*].email").doesNotExist())
             .andExpect(jsonPath("$.[*].imageUrl").doesNotExist())
             .andExpect(jsonPath("$.[*].langKey").doesNotExist());
     }
 
+    @Test
+    @Transactional
+    void getNotModifiedPublicUsers() throws Exception {
+        userRepository.saveAndFlush(user);
+
+        String eTag = restUserMockMvc
+            .perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restUserMockMvc
+            .perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andExpect(content().string(""));
+
+        // The version only changes once the write is committed, which never happens in this test transaction
+        userService.deleteUser(DEFAULT_LOGIN);
+        restUserMockMvc
+            .perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        userSearchIndexVersion.increment();
+        restUserMockMvc
+            .perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @Transactional
+    void getAllPublicUsersAsCbor() throws Exception {
+        // Initialize the database
+        userRepository.saveAndFlush(user);
+
+        // Get all the users
+        byte[] content = restUserMockMvc
+            .perform(get("/api/users?sort=id,desc").accept(MediaType.valueOf("application/cbor")))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/cbor"))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+        JsonNode users = new ObjectMapper(new CBORFactory()).readTree(content);
+        assertThat(users.findValuesAsText("login")).contains(DEFAULT_LOGIN);
+        assertThat(users.findValue("email")).isNull();
+    }
+
+    @Test
+    @Transactional
+    void getAllPublicUsersByCursor() throws Exception {
+        // Initialize the database
+        userRepository.saveAndFlush(user);
+
+        // Get all the users
+        restUserMockMvc
+            .perform(get("/api/users?cursor=&size=2000").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].login").value(hasItem(DEFAULT_LOGIN)))
+            .andExpect(jsonPath("$.[*].email").doesNotExist())
+            .andExpect(header().doesNotExist("X-Total-Count"));
+    }
+
     @Test
     @Transactional
     void getAllAuthorities() throws Exception {
@@ -1,8 +1,10 @@
 package com.ft.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -26,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -272,6 +275,120 @@ class UserResourceIT {
             .andExpect(jsonPath("$.[*].langKey").value(hasItem(DEFAULT_LANGKEY)));
     }
 
+    @Test
+    @Transactional
+    void getAllUsersByCursor() throws Exception {
+        // Initialize the database
+        userRepository.saveAndFlush(user);
+
+        // Get the first page, without counting
+        restUserMockMvc
+            .perform(get("/api/admin/users?cursor=&size=1").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().string("Link", containsString("rel=\"next\"")))
+            .andExpect(header().doesNotExist("X-Total-Count"));
+
+        // Get all the users, with the total count
+        restUserMockMvc
+            .perform(get("/api/admin/users?cursor=&size=2000&count=true").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].login").value(hasItem(DEFAULT_LOGIN)))
+            .andExpect(header().string("X-Total-Count", String.valueOf(userRepository.count())));
+    }
+
+    @Test
+    @Transactional
+    void getAllUsersByInvalidCursor() throws Exception {
+        restUserMockMvc
+            .perform(get("/api/admin/users?cursor=invalid").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportUsers() throws Exception {
+        // Initialize the database
+        userRepository.saveAndFlush(user);
+
+        restUserMockMvc
+            .perform(get("/api/admin/users/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(content().string(containsString("\"login\":\"" + DEFAULT_LOGIN + "\"")));
+
+        restUserMockMvc
+            .perform(get("/api/admin/users/export?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(startsWith("id,login,firstName,lastName,email")))
+            .andExpect(content().string(containsString("," + DEFAULT_LOGIN + "," + DEFAULT_FIRSTNAME + ",")))
+            .andExpect(content().string(containsString(",ROLE_ADMIN|ROLE_USER\n")));
+
+        restUserMockMvc.perform(get("/api/admin/users/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void exportUsersEscapesFormulas() throws Exception {
+        user.setFirstName("=HYPERLINK(\"http://localhost\")");
+        user.setLastName("-1+1");
+        userRepository.saveAndFlush(user);
+
+        restUserMockMvc
+            .perform(get("/api/admin/users/export?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("," + DEFAULT_LOGIN + ",\"'=HYPERLINK(\"\"http://localhost\"\")\",'-1+1,")));
+    }
+
+    @Test
+    @Transactional
+    void importUsers() throws Exception {
+        int databaseSizeBeforeImport = userRepository.findAll().size();
+
+        String users =
+            "{\"login\":\"" + DEFAULT_LOGIN + "\",\"email\":\"" + DEFAULT_EMAIL + "\",\"firstName\":\"" + DEFAULT_FIRSTNAME +
+            "\",\"password\":\"" + DEFAULT_PASSWORD + "\",\"authorities\":[\"" + AuthoritiesConstants.USER + "\"]}\n" +
+            "{\"login\":\"admin\",\"email\":\"another@localhost\"}\n" +
+            "{\"login\":\n";
+
+        restUserMockMvc
+            .perform(post("/api/admin/users/import").contentType("application/x-ndjson").content(users))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.rejections.[*].line").value(hasItems(2, 3)));
+
+        assertThat(userRepository.findAll()).hasSize(databaseSizeBeforeImport + 1);
+        User testUser = userRepository.findOneByLogin(DEFAULT_LOGIN).orElseThrow();
+        assertThat(testUser.getEmail()).isEqualTo(DEFAULT_EMAIL);
+        assertThat(testUser.getFirstName()).isEqualTo(DEFAULT_FIRSTNAME);
+        assertThat(testUser.isActivated()).isTrue();
+        assertThat(testUser.getCreatedDate()).isNotNull();
+    }
+
+    @Test
+    @Transactional
+    void importUsersAsCsv() throws Exception {
+        String users =
+            "login,email,firstName,lastName,authorities\n" +
+            DEFAULT_LOGIN +
+            "," +
+            DEFAULT_EMAIL +
+            ",'=1+1,\"Doe, \"\"Jr\"\"\",ROLE_USER|ROLE_ADMIN\n";
+
+        restUserMockMvc
+            .perform(post("/api/admin/users/import?format=csv").contentType("text/csv").content(users))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(0));
+
+        User testUser = userRepository.findOneByLogin(DEFAULT_LOGIN).orElseThrow();
+        assertThat(testUser.getFirstName()).isEqualTo("=1+1");
+        assertThat(testUser.getLastName()).isEqualTo("Doe, \"Jr\"");
+        assertThat(testUser.getResetKey()).isNotNull();
+    }
+
     @Test
     @Transactional
     void getUser() throws Exception {
@@ -287,6 +404,7 @@ class UserResourceIT {
             .perform(get("/api/admin/users/{login}", user.getLogin()))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
             .andExpect(jsonPath("$.login").value(user.getLogin()))
             .andExpect(jsonPath("$.firstName").value(DEFAULT_FIRSTNAME))
             .andExpect(jsonPath("$.lastName").value(DEFAULT_LASTNAME))
@@ -0,0 +1,94 @@
+package com.ft.web.rest.errors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.zalando.problem.Problem;
+import org.zalando.problem.ProblemModule;
+import org.zalando.problem.Status;
+
+/**
+ * Test class for the {@link PreSerializedProblem}.
+ */
+class PreSerializedProblemTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new ProblemModule());
+
+    @Test
+    void testSerializesLikeProblemBuilder() throws Exception {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("path", "/api/users");
+        parameters.put("fieldErrors", List.of(new FieldErrorVM("user", "login", "must not be null")));
+        Problem problem = PreSerializedProblem.of(
+            ErrorConstants.CONSTRAINT_VIOLATION_TYPE,
+            "Method argument not valid",
+            Status.BAD_REQUEST,
+            "Invalid \"login\"",
+            null,
+            ErrorConstants.ERR_VALIDATION,
+            parameters
+        );
+        Problem expected = Problem
+            .builder()
+            .withType(ErrorConstants.CONSTRAINT_VIOLATION_TYPE)
+            .withTitle("Method argument not valid")
+            .withStatus(Status.BAD_REQUEST)
+            .withDetail("Invalid \"login\"")
+            .with("message", ErrorConstants.ERR_VALIDATION)
+            .with("path", "/api/users")
+            .with("fieldErrors", List.of(new FieldErrorVM("user", "login", "must not be null")))
+            .build();
+
+        JsonNode json = mapper.readTree(mapper.writeValueAsString(problem));
+
+        assertThat(json).isEqualTo(mapper.readTree(mapper.writeValueAsString(expected)));
+        assertThat(json.get("fieldErrors").get(0).get("field").asText()).isEqualTo("login");
+    }
+
+    @Test
+    void testSerializesWithoutParameters() throws Exception {
+        Problem problem = PreSerializedProblem.of(
+            Problem.DEFAULT_TYPE,
+            "Not Found",
+            Status.NOT_FOUND,
+            null,
+            null,
+            null,
+            Collections.emptyMap()
+        );
+
+        JsonNode json = mapper.readTree(mapper.writeValueAsString(problem));
+
+        assertThat(json.has("type")).isFalse();
+        assertThat(json.get("title").asText()).isEqualTo("Not Found");
+        assertThat(json.get("status").asInt()).isEqualTo(404);
+        assertThat(json.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testSerializesWithOtherGenerators() throws Exception {
+        Problem problem = PreSerializedProblem.of(
+            ErrorConstants.DEFAULT_TYPE,
+            "Unauthorized",
+            Status.UNAUTHORIZED,
+            "test authentication failed!",
+            null,
+            "error.http.401",
+            Collections.singletonMap("path", "/api/account")
+        );
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory()).registerModule(new ProblemModule());
+
+        JsonNode json = mapper.readTree(mapper.writeValueAsString(problem));
+
+        assertThat(mapper.<JsonNode>valueToTree(problem)).isEqualTo(json);
+        assertThat(cbor.readTree(cbor.writeValueAsBytes(problem))).isEqualTo(json);
+        assertThat(problem.getParameters()).containsEntry("message", "error.http.401").containsEntry("path", "/api/account");
+    }
+}
@@ -1,6 +1,7 @@
 const webpack = require('webpack');
 const { merge } = require('webpack-merge');
 const path = require('path');
+const zlib = require('zlib');
 const MergeJsonWebpackPlugin = require('merge-jsons-webpack-plugin');
 const BrowserSyncPlugin = require('browser-sync-webpack-plugin');
 const BundleAnalyzerPlugin = require('webpack-bundle-analyzer').BundleAnalyzerPlugin;
@@ -12,6 +13,41 @@ const environment = require('./environment');
 
 const tls = process.env.TLS;
 
+/**
+ * Emits a Brotli (.br) and a gzip (.gz) variant of each text asset, when smaller than the asset.
+ */
+class PrecompressPlugin {
+  apply(compiler) {
+    compiler.hooks.thisCompilation.tap('PrecompressPlugin', compilation => {
+      compilation.hooks.processAssets.tap(
+        { name: 'PrecompressPlugin', stage: webpack.Compilation.PROCESS_ASSETS_STAGE_OPTIMIZE_TRANSFER },
+        assets => {
+          for (const name of Object.keys(assets)) {
+            if (!/\.(js|css|html|svg|json|txt)$/.test(name)) {
+              continue;
+            }
+            const content = assets[name].buffer();
+            if (content.length < 1024) {
+              continue;
+            }
+            const variants = {
+              br: zlib.brotliCompressSync(content, {
+                params: { [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY },
+              }),
+              gz: zlib.gzipSync(content, { level: zlib.constants.Z_BEST_COMPRESSION }),
+            };
+            for (const [extension, compressed] of Object.entries(variants)) {
+              if (compressed.length < content.length) {
+                compilation.emitAsset(`${name}.${extension}`, new webpack.sources.RawSource(compressed));
+              }
+            }
+          }
+        }
+      );
+    });
+  }
+}
+
 module.exports = (config, options, targetOptions) => {
   config.cache = {
     // 1. Set cache type to filesystem
@@ -83,7 +119,9 @@ module.exports = (config, options, targetOptions) => {
         openAnalyzer: false,
         // Webpack statistics in target folder
         reportFilename: '../stats.html',
-      })
+      }),
+      // Precompressed variants, served by the EncodedResourceResolver of StaticResourcesWebConfiguration
+      new PrecompressPlugin()
     );
   }
 